@@ -0,0 +1,90 @@
+package com.mcp.mcpgateway.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Writing an execution response with the gateway's Jackson settings. "tree" is a result deserialized
+// into maps, "raw" the same JSON passed through as RawJson.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MCPResponseSerializationBenchmark {
+
+    @Param({"1", "64", "1024"})
+    private int payloadKb;
+
+    @Param({"tree", "raw"})
+    private String payload;
+
+    private ObjectWriter indented;
+    private ObjectWriter compact;
+    private MCPResponse<Object> response;
+
+    @Setup
+    public void setup() throws Exception {
+        // Same settings as application.properties (indent-output, non_null)
+        ObjectMapper mapper = new ObjectMapper()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        indented = mapper.writer();
+        compact = mapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+
+        Map<String, Object> result = result(payloadKb * 1024);
+        response = MCPResponse.success("raw".equals(payload)
+                ? RawJson.of(compact.writeValueAsBytes(result))
+                : result);
+    }
+
+    @Benchmark
+    public byte[] indented() throws Exception {
+        return indented.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] compact() throws Exception {
+        return compact.writeValueAsBytes(response);
+    }
+
+    private static Map<String, Object> result(int targetBytes) {
+        List<Map<String, Object>> records = new ArrayList<>();
+        int size = 0;
+        for (int i = 0; size < targetBytes; i++) {
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("id", i);
+            record.put("name", "record-" + i);
+            record.put("score", i * 0.25);
+            record.put("active", i % 2 == 0);
+            record.put("tags", List.of("alpha", "beta", "gamma"));
+            records.add(record);
+            size += 96;
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("status", "SUCCESS");
+        result.put("records", records);
+        return result;
+    }
+}
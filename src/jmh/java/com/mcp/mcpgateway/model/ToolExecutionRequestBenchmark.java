@@ -0,0 +1,63 @@
+package com.mcp.mcpgateway.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Reading an /api/execute body, from a few scalar parameters to a large nested document
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToolExecutionRequestBenchmark {
+
+    @Param({"3", "100", "5000"})
+    private int parameterCount;
+
+    private ObjectReader reader;
+    private byte[] body;
+
+    @Setup
+    public void setup() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        reader = mapper.readerFor(ToolExecutionRequest.class);
+
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        for (int i = 0; i < parameterCount; i++) {
+            switch (i % 3) {
+                case 0:
+                    parameters.put("text-" + i, "The quick brown fox jumps over the lazy dog");
+                    break;
+                case 1:
+                    parameters.put("number-" + i, i * 1.5);
+                    break;
+                default:
+                    parameters.put("object-" + i, Map.of("enabled", true, "values", List.of(1, 2, 3)));
+            }
+        }
+        body = mapper.writeValueAsBytes(new ToolExecutionRequest("svc.search", parameters));
+    }
+
+    @Benchmark
+    public ToolExecutionRequest deserialize() throws Exception {
+        return reader.readValue(body);
+    }
+}
@@ -0,0 +1,55 @@
+package com.mcp.mcpgateway.service;
+
+import com.mcp.mcpgateway.model.Tool;
+import com.mcp.mcpgateway.model.ToolParameter;
+import com.mcp.mcpgateway.model.ToolReturn;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+// Tool definitions shaped like the ones remote services publish
+public final class BenchmarkTools {
+
+    private BenchmarkTools() {
+    }
+
+    public static List<Tool> remoteDefinitions(int count) {
+        List<Tool> tools = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tools.add(definition("tool-" + i));
+        }
+        return tools;
+    }
+
+    public static Map<String, Tool> registry(String serviceId, int count) {
+        Map<String, Tool> registry = new LinkedHashMap<>();
+        for (Tool tool : remoteDefinitions(count)) {
+            Tool prefixed = definition(serviceId + "." + tool.getName());
+            prefixed.getMetadata().put("serviceId", serviceId);
+            prefixed.getMetadata().put("originalToolName", tool.getName());
+            registry.put(prefixed.getName(), prefixed);
+        }
+        return registry;
+    }
+
+    private static Tool definition(String name) {
+        List<ToolParameter> parameters = new ArrayList<>();
+        parameters.add(new ToolParameter("query", "string", "Text to look up", true,
+                Map.of("minLength", 1, "maxLength", 256)));
+        parameters.add(new ToolParameter("limit", "integer", "Maximum number of results", false,
+                Map.of("minimum", 1, "maximum", 100)));
+        parameters.add(new ToolParameter("mode", "string", "Lookup mode", false,
+                Map.of("enum", List.of("fast", "exact"))));
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("category", "search");
+        metadata.put("idempotent", true);
+
+        return new Tool(name, "Looks up " + name + " records matching a query", parameters,
+                new ToolReturn("object", "Matching records", null), metadata);
+    }
+}
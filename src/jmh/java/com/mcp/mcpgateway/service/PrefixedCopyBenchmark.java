@@ -0,0 +1,52 @@
+package com.mcp.mcpgateway.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mcp.mcpgateway.config.RemoteServicesConfig.RemoteServiceConfig;
+import com.mcp.mcpgateway.model.Tool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Prefixing every tool of a service, as a refresh does for each changed definition
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrefixedCopyBenchmark {
+
+    @Param({"1000", "10000"})
+    private int toolCount;
+
+    private List<Tool> definitions;
+    private RemoteServiceConfig serviceConfig;
+
+    @Setup
+    public void setup() {
+        definitions = BenchmarkTools.remoteDefinitions(toolCount);
+        serviceConfig = new RemoteServiceConfig();
+        serviceConfig.setId("svc");
+    }
+
+    @Benchmark
+    public List<Tool> prefixAll() {
+        List<Tool> prefixed = new ArrayList<>(definitions.size());
+        for (Tool tool : definitions) {
+            prefixed.add(RemoteServiceManager.createPrefixedCopy(tool, serviceConfig));
+        }
+        return prefixed;
+    }
+}
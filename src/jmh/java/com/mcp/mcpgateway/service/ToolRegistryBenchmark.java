@@ -0,0 +1,86 @@
+package com.mcp.mcpgateway.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.mcp.mcpgateway.model.Tool;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Registry reads the way DefaultToolServiceImpl serves them (a volatile snapshot), alone and while
+// another thread keeps publishing new snapshots as a refresh would
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToolRegistryBenchmark {
+
+    @Param({"100", "10000"})
+    private int toolCount;
+
+    private Map<String, Tool> tools;
+    private String[] names;
+    private volatile ToolRegistrySnapshot registry;
+
+    @Setup
+    public void setup() {
+        tools = BenchmarkTools.registry("svc", toolCount);
+        names = tools.keySet().toArray(new String[0]);
+        registry = new ToolRegistrySnapshot(1, tools);
+    }
+
+    @Benchmark
+    @Group("read")
+    @GroupThreads(4)
+    public Tool lookup() {
+        return registry.get(names[ThreadLocalRandom.current().nextInt(names.length)]);
+    }
+
+    @Benchmark
+    @Group("read")
+    @GroupThreads(4)
+    public void allTools(Blackhole blackhole) {
+        for (Tool tool : registry.getTools()) {
+            blackhole.consume(tool);
+        }
+    }
+
+    @Benchmark
+    @Group("readDuringRefresh")
+    @GroupThreads(4)
+    public Tool lookupDuringRefresh() {
+        return registry.get(names[ThreadLocalRandom.current().nextInt(names.length)]);
+    }
+
+    @Benchmark
+    @Group("readDuringRefresh")
+    @GroupThreads(3)
+    public void allToolsDuringRefresh(Blackhole blackhole) {
+        for (Tool tool : registry.getTools()) {
+            blackhole.consume(tool);
+        }
+    }
+
+    @Benchmark
+    @Group("readDuringRefresh")
+    @GroupThreads(1)
+    public void refresh() {
+        registry = new ToolRegistrySnapshot(registry.getVersion() + 1, tools);
+    }
+}
@@ -0,0 +1,59 @@
+package com.mcp.mcpgateway.service.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mcp.mcpgateway.model.ToolExecutionRequest;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Local tool dispatch; logging is turned down in src/jmh/resources/logback-test.xml so it is not measured
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MockToolDispatchBenchmark {
+
+    @Param({"calculator", "text-analyzer", "weather-forecast"})
+    private String toolName;
+
+    private MockToolServiceImpl toolService;
+    private ToolExecutionRequest request;
+
+    @Setup
+    public void setup() {
+        toolService = new MockToolServiceImpl();
+        toolService.init();
+
+        Map<String, Object> parameters;
+        switch (toolName) {
+            case "calculator":
+                parameters = Map.of("operation", "multiply", "a", 12.5, "b", 4);
+                break;
+            case "text-analyzer":
+                parameters = Map.of("text", "The quick brown fox jumps over the lazy dog. It barks.");
+                break;
+            default:
+                parameters = Map.of("city", "Lisbon");
+        }
+        request = new ToolExecutionRequest(toolName, parameters);
+    }
+
+    @Benchmark
+    public Optional<Object> dispatch() {
+        return toolService.executeTool(request);
+    }
+}
@@ -0,0 +1,91 @@
+package com.mcp.mcpgateway.loadtest;
+
+import lombok.Getter;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Bytes allocated by the gateway's threads and GC activity between two snapshots. The harness' own
+// threads (driver, HTTP client, stubs) are left out; threads that end between snapshots are not counted.
+public class AllocationProbe {
+
+    private static final List<String> HARNESS_THREADS = List.of(
+            "loadtest-", "HttpClient-", "HTTP-Dispatcher", "main");
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Map<Long, Long> startBytes;
+    private long startGcCount;
+    private long startGcMillis;
+
+    public void start() {
+        startBytes = allocatedBytes();
+        startGcCount = gcCount();
+        startGcMillis = gcMillis();
+    }
+
+    public Snapshot stop() {
+        long bytes = 0;
+        for (Map.Entry<Long, Long> entry : allocatedBytes().entrySet()) {
+            bytes += entry.getValue() - startBytes.getOrDefault(entry.getKey(), 0L);
+        }
+        return new Snapshot(bytes, gcCount() - startGcCount, gcMillis() - startGcMillis);
+    }
+
+    private Map<Long, Long> allocatedBytes() {
+        Map<Long, Long> bytes = new HashMap<>();
+        long[] ids = threads.getAllThreadIds();
+        long[] allocated = threads.getThreadAllocatedBytes(ids);
+        ThreadInfo[] infos = threads.getThreadInfo(ids);
+        for (int i = 0; i < ids.length; i++) {
+            if (infos[i] != null && allocated[i] >= 0 && !isHarnessThread(infos[i].getThreadName())) {
+                bytes.put(ids[i], allocated[i]);
+            }
+        }
+        return bytes;
+    }
+
+    private static boolean isHarnessThread(String name) {
+        for (String prefix : HARNESS_THREADS) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+
+    @Getter
+    public static final class Snapshot {
+
+        private final long allocatedBytes;
+        private final long gcCount;
+        private final long gcMillis;
+
+        Snapshot(long allocatedBytes, long gcCount, long gcMillis) {
+            this.allocatedBytes = allocatedBytes;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+        }
+    }
+}
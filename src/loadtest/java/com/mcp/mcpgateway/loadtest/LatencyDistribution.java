@@ -0,0 +1,42 @@
+package com.mcp.mcpgateway.loadtest;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Backend latency in milliseconds, parsed from "fixed:20", "uniform:5:50", "exponential:20" (mean)
+// or "lognormal:20:0.5" (median and sigma, a long tail like most real services)
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    double sampleMs();
+
+    static LatencyDistribution parse(String spec) {
+        String[] parts = spec.trim().toLowerCase(Locale.ROOT).split(":");
+        try {
+            switch (parts[0]) {
+                case "fixed": {
+                    double ms = Double.parseDouble(parts[1]);
+                    return () -> ms;
+                }
+                case "uniform": {
+                    double min = Double.parseDouble(parts[1]);
+                    double max = Double.parseDouble(parts[2]);
+                    return () -> min + ThreadLocalRandom.current().nextDouble() * (max - min);
+                }
+                case "exponential": {
+                    double mean = Double.parseDouble(parts[1]);
+                    return () -> -mean * Math.log(1 - ThreadLocalRandom.current().nextDouble());
+                }
+                case "lognormal": {
+                    double mu = Math.log(Double.parseDouble(parts[1]));
+                    double sigma = Double.parseDouble(parts[2]);
+                    return () -> Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian());
+                }
+                default:
+                    throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid latency distribution: " + spec, e);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.mcp.mcpgateway.loadtest;
+
+import lombok.Getter;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Open-loop load: requests are sent on a fixed schedule whether or not earlier ones completed, and each
+// latency is measured from the time the request was due, so a stalled gateway cannot hide its queueing
+public class LoadDriver implements AutoCloseable {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final HttpClient client;
+    private final ExecutorService clientExecutor;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public LoadDriver(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.clientExecutor = Executors.newFixedThreadPool(8, runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-client-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(clientExecutor)
+                .build();
+    }
+
+    public Result run(List<Target> targets, double ratePerSecond, long durationMs) {
+        Result result = new Result(targets);
+        double totalWeight = targets.stream().mapToDouble(Target::getWeight).sum();
+        long intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        long start = System.nanoTime();
+        long end = start + TimeUnit.MILLISECONDS.toNanos(durationMs);
+
+        for (long i = 0; ; i++) {
+            long due = start + i * intervalNanos;
+            if (due >= end) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Target target = pick(targets, totalWeight);
+            Stats stats = result.stats.get(target.getName());
+            if (inFlight.get() >= maxInFlight) {
+                // The client is saturated, the request is counted instead of silently delayed
+                stats.dropped.increment();
+                continue;
+            }
+
+            inFlight.incrementAndGet();
+            client.sendAsync(target.getRequest().get(), HttpResponse.BodyHandlers.ofByteArray())
+                    .whenComplete((response, e) -> {
+                        inFlight.decrementAndGet();
+                        long latencyMicros = (System.nanoTime() - due) / 1000;
+                        stats.latencyMicros.recordValue(Math.min(Math.max(1, latencyMicros), MAX_LATENCY_MICROS));
+                        stats.requests.increment();
+                        if (e != null || !target.getSuccess().test(response)) {
+                            stats.errors.increment();
+                        }
+                    });
+        }
+
+        // Late responses still belong to this run
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    private static Target pick(List<Target> targets, double totalWeight) {
+        double point = ThreadLocalRandom.current().nextDouble() * totalWeight;
+        for (Target target : targets) {
+            point -= target.getWeight();
+            if (point < 0) {
+                return target;
+            }
+        }
+        return targets.get(targets.size() - 1);
+    }
+
+    @Override
+    public void close() {
+        clientExecutor.shutdownNow();
+    }
+
+    @Getter
+    public static final class Target {
+
+        private final String name;
+        private final double weight;
+        private final Supplier<HttpRequest> request;
+        private final Predicate<HttpResponse<byte[]>> success;
+
+        public Target(String name, double weight, Supplier<HttpRequest> request,
+                      Predicate<HttpResponse<byte[]>> success) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+            this.success = success;
+        }
+    }
+
+    public static final class Stats {
+
+        final Histogram latencyMicros = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        final LongAdder requests = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+
+        Map<String, Object> summary(long elapsedNanos) {
+            double seconds = elapsedNanos / 1e9;
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", requests.sum());
+            summary.put("errors", errors.sum());
+            summary.put("dropped", dropped.sum());
+            summary.put("throughputPerSecond", round(requests.sum() / seconds));
+            summary.put("p50Ms", percentileMs(50));
+            summary.put("p99Ms", percentileMs(99));
+            summary.put("p999Ms", percentileMs(99.9));
+            summary.put("maxMs", round(latencyMicros.getMaxValue() / 1000.0));
+            return summary;
+        }
+
+        private double percentileMs(double percentile) {
+            return round(latencyMicros.getValueAtPercentile(percentile) / 1000.0);
+        }
+    }
+
+    public static final class Result {
+
+        final Map<String, Stats> stats = new LinkedHashMap<>();
+        long elapsedNanos;
+
+        Result(List<Target> targets) {
+            for (Target target : targets) {
+                stats.put(target.getName(), new Stats());
+            }
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public long getRequests() {
+            return stats.values().stream().mapToLong(stats -> stats.requests.sum()).sum();
+        }
+
+        public Map<String, Map<String, Object>> summary() {
+            Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+            stats.forEach((name, stats) -> summary.put(name, stats.summary(elapsedNanos)));
+            return summary;
+        }
+    }
+
+    static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
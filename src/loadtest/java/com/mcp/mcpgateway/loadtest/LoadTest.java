@@ -0,0 +1,184 @@
+package com.mcp.mcpgateway.loadtest;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mcp.mcpgateway.MCPGatewayApplication;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+// Starts stub backends and the gateway in this JVM, all on the loopback interface, drives /api/execute and
+// /api/tools at a fixed rate and reports throughput, latency percentiles and the gateway's allocation rate.
+// Settings are system properties, see the loadtest profile in pom.xml.
+public class LoadTest {
+
+    private static final Pattern SUCCESS = Pattern.compile("\"success\"\\s*:\\s*true");
+    // Failed remote calls are returned as a successful response carrying a FAILED result
+    private static final Pattern REMOTE_FAILURE = Pattern.compile("\"status\"\\s*:\\s*\"FAILED\"");
+
+    public static void main(String[] args) throws Exception {
+        double rate = Double.parseDouble(property("loadtest.rate", "500"));
+        long durationMs = Long.parseLong(property("loadtest.durationSeconds", "30")) * 1000;
+        long warmupMs = Long.parseLong(property("loadtest.warmupSeconds", "10")) * 1000;
+        int serviceCount = Integer.parseInt(property("loadtest.services", "2"));
+        int toolsPerService = Integer.parseInt(property("loadtest.toolsPerService", "20"));
+        String latency = property("loadtest.latency", "lognormal:20:0.5");
+        double errorRate = Double.parseDouble(property("loadtest.errorRate", "0.01"));
+        int payloadBytes = Integer.parseInt(property("loadtest.payloadBytes", "2048"));
+        double catalogShare = Double.parseDouble(property("loadtest.catalogShare", "0.05"));
+        int maxInFlight = Integer.parseInt(property("loadtest.maxInFlight", "5000"));
+        String gatewayArgs = property("loadtest.gatewayArgs", "");
+        String resultFile = property("loadtest.resultFile", "target/loadtest/loadtest-result.json");
+
+        List<StubBackend> stubs = new ArrayList<>();
+        for (int i = 0; i < serviceCount; i++) {
+            stubs.add(new StubBackend("stub" + i, toolsPerService, LatencyDistribution.parse(latency),
+                    errorRate, payloadBytes));
+        }
+
+        ConfigurableApplicationContext gateway = SpringApplication.run(MCPGatewayApplication.class,
+                gatewayArguments(stubs, gatewayArgs));
+        int port = ((WebServerApplicationContext) gateway).getWebServer().getPort();
+        String baseUrl = "http://127.0.0.1:" + port
+                + gateway.getEnvironment().getProperty("server.servlet.context-path", "");
+
+        List<String> toolNames = new ArrayList<>();
+        for (StubBackend stub : stubs) {
+            for (String tool : stub.getToolNames()) {
+                toolNames.add(stub.getId() + "." + tool);
+            }
+        }
+
+        List<LoadDriver.Target> targets = List.of(
+                new LoadDriver.Target("execute", 1 - catalogShare, () -> executeRequest(baseUrl, toolNames),
+                        LoadTest::isSuccessfulExecution),
+                new LoadDriver.Target("tools", catalogShare, () -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/tools"))
+                        .header("Accept-Encoding", "gzip")
+                        .GET()
+                        .build(),
+                        response -> response.statusCode() == 200));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        try (LoadDriver driver = new LoadDriver(maxInFlight)) {
+            System.out.printf(Locale.ROOT, "Warming up for %ds at %.0f req/s%n", warmupMs / 1000, rate);
+            driver.run(targets, rate, warmupMs);
+
+            System.out.printf(Locale.ROOT, "Measuring for %ds at %.0f req/s%n", durationMs / 1000, rate);
+            AllocationProbe probe = new AllocationProbe();
+            probe.start();
+            LoadDriver.Result result = driver.run(targets, rate, durationMs);
+            AllocationProbe.Snapshot allocation = probe.stop();
+
+            double seconds = result.getElapsedNanos() / 1e9;
+            Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put("rate", rate);
+            settings.put("durationSeconds", durationMs / 1000);
+            settings.put("services", serviceCount);
+            settings.put("toolsPerService", toolsPerService);
+            settings.put("latency", latency);
+            settings.put("errorRate", errorRate);
+            settings.put("payloadBytes", payloadBytes);
+            settings.put("catalogShare", catalogShare);
+            settings.put("gatewayArgs", gatewayArgs);
+
+            Map<String, Object> gc = new LinkedHashMap<>();
+            gc.put("allocationMbPerSecond", LoadDriver.round(allocation.getAllocatedBytes() / seconds / (1024 * 1024)));
+            gc.put("allocationKbPerRequest", LoadDriver.round(
+                    allocation.getAllocatedBytes() / 1024.0 / Math.max(1, result.getRequests())));
+            gc.put("gcCount", allocation.getGcCount());
+            gc.put("gcMillis", allocation.getGcMillis());
+
+            report.put("settings", settings);
+            report.put("endpoints", result.summary());
+            report.put("gateway", gc);
+            report.put("backendCalls", stubs.stream().mapToLong(StubBackend::getCalls).sum());
+        } finally {
+            gateway.close();
+            stubs.forEach(StubBackend::close);
+        }
+
+        print(report);
+        File file = new File(resultFile);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        System.out.println("Load test result is saved to " + file.getAbsolutePath());
+        System.exit(0);
+    }
+
+    private static String[] gatewayArguments(List<StubBackend> stubs, String extra) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.mcp.mcpgateway=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN",
+                "--mcp.remote-services.enabled=true"));
+        for (int i = 0; i < stubs.size(); i++) {
+            String prefix = "--mcp.remote-services.services[" + i + "].";
+            args.add(prefix + "id=" + stubs.get(i).getId());
+            args.add(prefix + "url=" + stubs.get(i).getUrl());
+            args.add(prefix + "tools-endpoint=" + StubBackend.TOOLS_ENDPOINT);
+            args.add(prefix + "execution-endpoint=" + StubBackend.EXECUTION_ENDPOINT);
+        }
+        for (String arg : extra.trim().split("\\s+")) {
+            if (!arg.isEmpty()) {
+                args.add(arg);
+            }
+        }
+        return args.toArray(new String[0]);
+    }
+
+    private static HttpRequest executeRequest(String baseUrl, List<String> toolNames) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String body = "{\"toolName\":\"" + toolNames.get(random.nextInt(toolNames.size()))
+                + "\",\"parameters\":{\"query\":\"q" + random.nextInt(1_000_000) + "\"}}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/execute"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static boolean isSuccessfulExecution(HttpResponse<byte[]> response) {
+        if (response.statusCode() != 200) {
+            return false;
+        }
+        String body = new String(response.body(), StandardCharsets.UTF_8);
+        return SUCCESS.matcher(body).find() && !REMOTE_FAILURE.matcher(body).find();
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        return value != null && !value.isEmpty() ? value : defaultValue;
+    }
+
+    private static void print(Map<String, Object> report) {
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> endpoints = (Map<String, Map<String, Object>>) report.get("endpoints");
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-10s %10s %8s %8s %12s %10s %10s %10s %10s%n",
+                "Endpoint", "Requests", "Errors", "Dropped", "Throughput/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        endpoints.forEach((name, stats) -> System.out.printf(Locale.ROOT,
+                "%-10s %10s %8s %8s %12s %10s %10s %10s %10s%n",
+                name, stats.get("requests"), stats.get("errors"), stats.get("dropped"),
+                stats.get("throughputPerSecond"), stats.get("p50Ms"), stats.get("p99Ms"), stats.get("p999Ms"),
+                stats.get("maxMs")));
+        System.out.println();
+        System.out.println("Gateway: " + report.get("gateway"));
+    }
+}
@@ -0,0 +1,167 @@
+package com.mcp.mcpgateway.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// A remote MCP service on the loopback interface: GET /tools lists its tools, POST /execute/{tool}
+// answers after a latency drawn from the distribution, with an error or a payload of the given size.
+// Responses are delayed on a scheduler, so slow backends do not need a thread per call.
+public class StubBackend implements AutoCloseable {
+
+    public static final String TOOLS_ENDPOINT = "/tools";
+    public static final String EXECUTION_ENDPOINT = "/execute/{tool}";
+
+    static {
+        // Headers and body are separate writes; with Nagle on, every response waits for a delayed ACK (~40ms)
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final String id;
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final byte[] toolsBody;
+    private final byte[] resultBody;
+    private final List<String> toolNames = new ArrayList<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final ScheduledExecutorService responder;
+
+    public StubBackend(String id, int toolCount, LatencyDistribution latency, double errorRate, int payloadBytes)
+            throws IOException {
+        this.id = id;
+        this.latency = latency;
+        this.errorRate = errorRate;
+
+        ObjectMapper mapper = new ObjectMapper();
+        List<Map<String, Object>> tools = new ArrayList<>();
+        for (int i = 0; i < toolCount; i++) {
+            String name = "tool-" + i;
+            toolNames.add(name);
+
+            Map<String, Object> parameter = new LinkedHashMap<>();
+            parameter.put("name", "query");
+            parameter.put("type", "string");
+            parameter.put("required", true);
+
+            Map<String, Object> tool = new LinkedHashMap<>();
+            tool.put("name", name);
+            tool.put("description", "Load test tool " + i + " of " + id);
+            tool.put("parameters", List.of(parameter));
+            tools.add(tool);
+        }
+        this.toolsBody = mapper.writeValueAsBytes(tools);
+
+        // {"status":"ok","data":"xxxx"} padded to the payload size
+        String prefix = "{\"status\":\"ok\",\"data\":\"";
+        String suffix = "\"}";
+        char[] padding = new char[Math.max(0, payloadBytes - prefix.length() - suffix.length())];
+        Arrays.fill(padding, 'x');
+        this.resultBody = (prefix + new String(padding) + suffix).getBytes(StandardCharsets.UTF_8);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.handlers = Executors.newFixedThreadPool(8, runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-stub-" + id + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.responder = Executors.newScheduledThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-stub-" + id + "-delay-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext(TOOLS_ENDPOINT, this::tools);
+        server.createContext("/execute/", this::execute);
+        server.setExecutor(handlers);
+        server.start();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public List<String> getToolNames() {
+        return toolNames;
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    private void tools(HttpExchange exchange) throws IOException {
+        drain(exchange);
+        respond(exchange, 200, toolsBody);
+    }
+
+    private void execute(HttpExchange exchange) throws IOException {
+        drain(exchange);
+        calls.increment();
+
+        boolean fail = ThreadLocalRandom.current().nextDouble() < errorRate;
+        long delayMicros = Math.max(0, Math.round(latency.sampleMs() * 1000));
+        responder.schedule(() -> {
+            try {
+                if (fail) {
+                    errors.increment();
+                    respond(exchange, 500, "{\"error\":\"injected failure\"}".getBytes(StandardCharsets.UTF_8));
+                } else {
+                    respond(exchange, 200, resultBody);
+                }
+            } catch (IOException e) {
+                exchange.close();
+            }
+        }, delayMicros, TimeUnit.MICROSECONDS);
+    }
+
+    private static void drain(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        responder.shutdownNow();
+        handlers.shutdownNow();
+    }
+}
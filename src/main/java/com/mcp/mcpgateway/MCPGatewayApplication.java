@@ -3,9 +3,13 @@ package com.mcp.mcpgateway;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.mcp.mcpgateway.config.GatewayRuntimeHints;
 
 @SpringBootApplication
 @EnableConfigurationProperties
+@ImportRuntimeHints(GatewayRuntimeHints.class)
 public class MCPGatewayApplication {
 
     public static void main(String[] args) {
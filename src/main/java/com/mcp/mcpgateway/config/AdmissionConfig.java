@@ -0,0 +1,79 @@
+package com.mcp.mcpgateway.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "mcp.admission")
+public class AdmissionConfig {
+
+    private boolean enabled = true;
+
+    // Clients are told apart by their remote address. Only behind a proxy that sets the client header itself
+    // (and strips it from callers) should the header be trusted to name the client
+    private boolean trustClientHeader = false;
+
+    private String clientHeader = "X-Client-Id";
+
+    // Token bucket per client over all /api/execute* requests
+    private RateLimit client = new RateLimit();
+
+    // Limits of individual clients, by client id
+    private Map<String, RateLimit> clients = new HashMap<>();
+
+    // Above this many buckets, the buckets of idle clients (refilled completely) are dropped, then others
+    private int maxTrackedClients = 10000;
+
+    // Token bucket per tool; tools override it with "rateLimitPerSecond" and "rateLimitBurst" in their metadata
+    private RateLimit tool = new RateLimit();
+
+    private ConcurrencyLimitConfig concurrency = new ConcurrencyLimitConfig();
+
+    // Sent as Retry-After when the concurrency limit is reached
+    private int overloadRetryAfterSeconds = 1;
+
+
+    @Data
+    public static class RateLimit {
+
+        // 0 disables the limit
+        private double ratePerSecond = 0;
+
+        // Requests allowed at once after an idle period, at least 1 (defaults to the rate)
+        private int burst = 0;
+    }
+
+    @Data
+    public static class ConcurrencyLimitConfig {
+
+        // Adaptive limit of concurrent /api/execute and /api/execute/batch requests
+        private boolean enabled = true;
+
+        private int initialLimit = 100;
+
+        private int minLimit = 10;
+
+        private int maxLimit = 1000;
+
+        // Latency is averaged per window before the limit is adjusted
+        private long windowMs = 100;
+
+        private int minWindowSamples = 10;
+
+        // The baseline latency is a slow moving average over about this many windows
+        private int baselineWindows = 600;
+
+        // Latency over the baseline by more than this factor shrinks the limit
+        private double tolerance = 1.5;
+
+        // Share of each new estimate applied to the limit
+        private double smoothing = 0.2;
+    }
+}
@@ -0,0 +1,108 @@
+package com.mcp.mcpgateway.config;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import com.mcp.mcpgateway.model.ExecutionPriority;
+
+import lombok.Data;
+
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "mcp.execution")
+public class ExecutionConfig {
+
+    private ExecutionMode mode = ExecutionMode.BLOCKING;
+
+    // Worker pool used by OFFLOADED mode
+    private int asyncPoolSize = 200;
+
+    private int asyncQueueCapacity = 1000;
+
+    // Worker pool for batch fan-out when mode is BLOCKING
+    private int batchPoolSize = 64;
+
+    private int batchMaxSize = 100;
+
+    // Concurrent items per batch, overall and per remote service
+    private int batchParallelism = 16;
+
+    private int batchPerServiceParallelism = 8;
+
+    // Result cache for tools with "cacheTtlMs" in their metadata
+    private boolean resultCacheEnabled = true;
+
+    private int resultCacheMaxEntries = 1000;
+
+    // Streaming executions (/api/execute/stream), each one holds a thread while it relays
+    private int streamPoolSize = 64;
+
+    private long streamTimeoutMs = 600000;
+
+    // Heartbeats also reveal disconnected clients while the tool is silent
+    private long streamHeartbeatMs = 15000;
+
+    // Check parameters against the tool definition before executing
+    private boolean validateParameters = true;
+
+    // Single flight for tools with "coalesce": true in their metadata
+    private boolean coalescingEnabled = true;
+
+    // Queued executions (OFFLOADED mode and batch items) wait in weighted fair queues, one lane per tenant and
+    // priority; otherwise they are taken in arrival order. Calls waiting for a remote service's bulkhead permits
+    // are always queued by the same lanes and weights
+    private boolean fairScheduling = true;
+
+    // Share of the workers a lane gets while others wait: priority weight times tenant weight
+    private Map<ExecutionPriority, Integer> priorityWeights = defaultPriorityWeights();
+
+    // Tenants without an entry weigh 1
+    private Map<String, Integer> tenantWeights = new HashMap<>();
+
+    private ExecutionPriority defaultPriority = ExecutionPriority.NORMAL;
+
+    // Highest priority a caller may ask for, per tenant; tenants without an entry are capped at maxPriority.
+    // The tenant is named by the caller too, so the cap only holds behind a proxy that sets X-Tenant-Id
+    private ExecutionPriority maxPriority = ExecutionPriority.NORMAL;
+
+    private Map<String, ExecutionPriority> tenantMaxPriorities = new HashMap<>();
+
+    public ExecutionPriority allowedPriority(String tenant, ExecutionPriority requested) {
+        if (requested == null) {
+            return null;
+        }
+        ExecutionPriority max = tenant != null ? tenantMaxPriorities.getOrDefault(tenant, maxPriority) : maxPriority;
+        return requested.compareTo(max) < 0 ? max : requested;
+    }
+
+    // Weight of a lane in the fair queues: priority weight times tenant weight
+    public int laneWeight(String tenant, ExecutionPriority priority) {
+        int priorityWeight = priorityWeights.getOrDefault(priority, 1);
+        int tenantWeight = tenantWeights.getOrDefault(tenant, 1);
+        return Math.max(1, priorityWeight * tenantWeight);
+    }
+
+    private static Map<ExecutionPriority, Integer> defaultPriorityWeights() {
+        Map<ExecutionPriority, Integer> weights = new EnumMap<>(ExecutionPriority.class);
+        weights.put(ExecutionPriority.INTERACTIVE, 16);
+        weights.put(ExecutionPriority.NORMAL, 4);
+        weights.put(ExecutionPriority.BULK, 1);
+        return weights;
+    }
+
+
+    public enum ExecutionMode {
+        // Tool calls run on the servlet request thread
+        BLOCKING,
+        // Tool calls are handed to a bounded worker pool and the servlet thread is released. The remote call
+        // itself still blocks its worker for the whole exchange, so the pool size bounds concurrent calls
+        OFFLOADED,
+        // Tool calls run on a virtual thread each (requires a Java 21 runtime)
+        VIRTUAL
+    }
+}
@@ -0,0 +1,37 @@
+package com.mcp.mcpgateway.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import com.mcp.mcpgateway.model.BatchItemResponse;
+import com.mcp.mcpgateway.model.MCPResponse;
+import com.mcp.mcpgateway.model.ParameterViolation;
+import com.mcp.mcpgateway.model.RefreshReport;
+import com.mcp.mcpgateway.model.Tool;
+import com.mcp.mcpgateway.model.ToolExecutionRequest;
+import com.mcp.mcpgateway.model.ToolQuery;
+import com.mcp.mcpgateway.model.ToolSearchResult;
+
+
+// Reflection needed by a native image beyond what Spring AOT infers from the controllers: responses carry
+// their payload as Object, and tool definitions and the registry snapshot are read with the ObjectMapper
+public class GatewayRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                MCPResponse.class, BatchItemResponse.class, ParameterViolation.class, RefreshReport.class,
+                Tool.class, ToolExecutionRequest.class, ToolQuery.class, ToolSearchResult.class);
+
+        for (String snapshotType : new String[] {
+                "com.mcp.mcpgateway.service.RegistrySnapshotStore$Snapshot",
+                "com.mcp.mcpgateway.service.RegistrySnapshotStore$ServiceEntry"}) {
+            hints.reflection().registerType(TypeReference.of(snapshotType),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.mcp.mcpgateway.config;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.Data;
 
 
@@ -17,8 +21,29 @@ public class RemoteServicesConfig {
 
     private List<RemoteServiceConfig> services;
 
+    // Polling interval of services without their own; with catalog change notifications polling is only a fallback
     private long refreshIntervalMs = 300000;
 
+    // Each poll is scheduled within this share of the interval around it, so services are not polled in lockstep
+    private double refreshJitter = 0.2;
+
+    private int discoveryParallelism = 8;
+
+    // Deadline for fetching the tool list of a single service
+    private long discoveryTimeoutMs = 10000;
+
+    // Deadline for a whole refresh across all services
+    private long refreshTimeoutMs = 30000;
+
+    // Shared secret services send as X-Catalog-Token with catalog change notifications; without one the endpoint
+    // must only be reachable from the internal network
+    @JsonIgnore
+    private String catalogChangeToken;
+
+    private HedgingConfig hedging = new HedgingConfig();
+
+    private SnapshotConfig snapshot = new SnapshotConfig();
+
 
     @Data
     public static class RemoteServiceConfig {
@@ -27,10 +52,167 @@ public class RemoteServicesConfig {
 
         private String url;
 
+        // Additional replicas of the service; calls are load balanced across url and urls
+        private List<String> urls;
+
         private String toolsEndpoint;
 
         private String executionEndpoint;
 
         private boolean enabled = true;
+
+        // Polling interval of this service, defaults to the global refreshIntervalMs
+        private Long refreshIntervalMs;
+
+        // Embed tool results in the response as the raw JSON received, without deserializing them
+        private boolean passThrough = false;
+
+        private HttpClientConfig http = new HttpClientConfig();
+
+        private ResilienceConfig resilience = new ResilienceConfig();
+
+        private LoadBalancingConfig loadBalancing = new LoadBalancingConfig();
+
+        public List<String> resolveEndpoints() {
+            List<String> endpoints = new ArrayList<>();
+            if (url != null) {
+                endpoints.add(url);
+            }
+            if (urls != null) {
+                for (String replicaUrl : urls) {
+                    if (!endpoints.contains(replicaUrl)) {
+                        endpoints.add(replicaUrl);
+                    }
+                }
+            }
+            return Collections.unmodifiableList(endpoints);
+        }
+    }
+
+    public long refreshIntervalOf(RemoteServiceConfig service) {
+        return service.getRefreshIntervalMs() != null ? service.getRefreshIntervalMs() : refreshIntervalMs;
+    }
+
+    @Data
+    public static class HttpClientConfig {
+
+        // HTTP_1_1 uses a pooled keep-alive client, HTTP_2 multiplexes over a single connection
+        private HttpProtocol protocol = HttpProtocol.HTTP_1_1;
+
+        // Connections per replica of the pooled HTTP_1_1 client; HTTP_2 ignores it (one connection per host)
+        private int maxConnections = 50;
+
+        private long connectTimeoutMs = 2000;
+
+        private long readTimeoutMs = 30000;
+
+        // Upper bound until the response headers arrive, including waiting for a pooled connection. The body is
+        // not covered, so streams can outlive it; HTTP_1_1 bounds each read of it with readTimeoutMs
+        private long totalTimeoutMs = 60000;
+
+        private long connectionRequestTimeoutMs = 1000;
+
+        private long keepAliveMs = 60000;
+    }
+
+    @Data
+    public static class ResilienceConfig {
+
+        private boolean enabled = true;
+
+        // Circuit breaker, evaluated over a sliding window of the last calls
+        private float failureRateThreshold = 50;
+
+        private float slowCallRateThreshold = 80;
+
+        private long slowCallDurationMs = 5000;
+
+        private int slidingWindowSize = 50;
+
+        private int minimumNumberOfCalls = 20;
+
+        private long openStateDurationMs = 10000;
+
+        private int halfOpenCalls = 3;
+
+        // Bulkhead, caps concurrent calls to the service
+        private int maxConcurrentCalls = 50;
+
+        // How long a call waits for a permit; waiting calls are served fairly across tenants and priorities,
+        // so with 0 whoever holds the permits (e.g. a bulk batch) keeps them and everybody else is rejected
+        private long maxWaitMs = 1000;
+    }
+
+    @Data
+    public static class LoadBalancingConfig {
+
+        private LoadBalancingStrategy strategy = LoadBalancingStrategy.PEAK_EWMA;
+
+        // Time constant of the latency average used by PEAK_EWMA
+        private long ewmaDecayMs = 10000;
+
+        // Latency assumed for a replica without samples; an idle replica's estimate decays back to it
+        private long initialLatencyMs = 50;
+
+        // A failed call counts as this many times the slowest estimate of the service's replicas
+        private double failurePenaltyFactor = 5;
+
+        // Passive outlier ejection after consecutive failures
+        private int ejectionConsecutiveFailures = 5;
+
+        private long ejectionDurationMs = 30000;
+
+        private int maxEjectionPercent = 50;
+
+        // Active health probing, disabled when no endpoint is set
+        private String healthEndpoint;
+
+        private long healthIntervalMs = 10000;
+    }
+
+    @Data
+    public static class HedgingConfig {
+
+        // Applies only to tools with "idempotent": true in their metadata
+        private boolean enabled = true;
+
+        // Hedge after this percentile of the tool's observed latency
+        private double percentile = 0.95;
+
+        private int minSamples = 20;
+
+        // Delay used until enough samples exist; a tool can pin its own with "hedgeDelayMs"
+        private long initialDelayMs = 200;
+
+        private long minDelayMs = 5;
+
+        // Extra load allowed from hedges, as a percentage of hedgeable calls
+        private double budgetPercent = 10;
+
+        private int maxThreads = 64;
+    }
+
+    @Data
+    public static class SnapshotConfig {
+
+        // Keeps the last discovered catalogs on disk, so a restart serves them at once and refreshes in the background.
+        // Off unless asked for; the path is resolved against the working directory when relative, which must be
+        // writable
+        private boolean enabled = false;
+
+        private String path = "data/registry-snapshot.bin";
+    }
+
+    public enum LoadBalancingStrategy {
+        ROUND_ROBIN,
+        // Power of two choices on outstanding requests
+        LEAST_OUTSTANDING,
+        // Power of two choices on EWMA latency weighted by outstanding requests
+        PEAK_EWMA
+    }
+
+    public enum HttpProtocol {
+        HTTP_1_1,
+        HTTP_2
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+package com.mcp.mcpgateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "mcp.tracing")
+public class TracingConfig {
+
+    private boolean enabled = true;
+
+    // Forward the caller's traceparent (or a new one) to remote services
+    private boolean propagate = true;
+
+    // Share of /api/execute requests whose phases are timed, from 0 to 1
+    private double sampleRate = 0.01;
+
+    // Also time every request the caller marked as sampled in its traceparent
+    private boolean honorSampledFlag = false;
+
+    // Where sampled timings are reported
+    private boolean serverTimingHeader = true;
+
+    private boolean timingsInResponse = false;
+}
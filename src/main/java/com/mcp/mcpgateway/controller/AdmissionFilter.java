@@ -0,0 +1,123 @@
+package com.mcp.mcpgateway.controller;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mcp.mcpgateway.config.AdmissionConfig;
+import com.mcp.mcpgateway.service.AdmissionControl;
+import com.mcp.mcpgateway.service.AdmissionRejectedException;
+
+import java.io.IOException;
+
+// Admits execution requests before their body is read. The client's rate limit covers every /api/execute*
+// request; the concurrency limit leaves out streams, which hold their slot for as long as they relay.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private static final String EXECUTE_PATH = "/api/execute";
+    private static final String STREAM_PATH = "/api/execute/stream";
+
+    private final AdmissionControl admission;
+    private final AdmissionConfig config;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !admission.isEnabled() || !pathWithinApplication(request).startsWith(EXECUTE_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean limited = admission.isConcurrencyLimited() && !pathWithinApplication(request).startsWith(STREAM_PATH);
+        AdmissionControl.Permit permit = null;
+        try {
+            admission.admitClient(clientId(request));
+            if (limited) {
+                permit = admission.acquire();
+            }
+        } catch (AdmissionRejectedException e) {
+            reject(response, e);
+            return;
+        }
+
+        boolean released = permit == null;
+        AdmissionControl.Permit previous = AdmissionControl.bind(permit);
+        try {
+            chain.doFilter(request, response);
+            if (permit != null && request.isAsyncStarted()) {
+                // Asynchronous executions hold their slot until the response is complete
+                request.getAsyncContext().addListener(new ReleaseListener(permit));
+                released = true;
+            }
+        } finally {
+            AdmissionControl.bind(previous);
+            if (!released) {
+                admission.release(permit);
+            }
+        }
+    }
+
+    // The header can be set to anything by the caller, so it only names the client behind a trusted proxy
+    private String clientId(HttpServletRequest request) {
+        if (config.isTrustClientHeader()) {
+            String client = request.getHeader(config.getClientHeader());
+            if (client != null && !client.isBlank()) {
+                return client;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, AdmissionRejectedException e) throws IOException {
+        response.setStatus(e.getStatus());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), e.toResponse());
+    }
+
+    private static String pathWithinApplication(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private class ReleaseListener implements AsyncListener {
+
+        private final AdmissionControl.Permit permit;
+
+        ReleaseListener(AdmissionControl.Permit permit) {
+            this.permit = permit;
+        }
+
+        // Also called after a timeout or an error
+        @Override
+        public void onComplete(AsyncEvent event) {
+            admission.release(permit);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.mcp.mcpgateway.controller;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.mcp.mcpgateway.config.TracingConfig;
+import com.mcp.mcpgateway.service.ExecutionTrace;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Starts the trace of each execution request before its body is read, so deserialization is timed too.
+// Batch and stream executions only carry the trace context, their phases would overlap.
+@Component
+@RequiredArgsConstructor
+public class ExecutionTraceFilter extends OncePerRequestFilter {
+
+    private static final String EXECUTE_PATH = "/api/execute";
+
+    private final TracingConfig config;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !config.isEnabled() || !pathWithinApplication(request).startsWith(EXECUTE_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        String traceparent = request.getHeader(ExecutionTrace.TRACEPARENT);
+
+        boolean sampled = false;
+        if (pathWithinApplication(request).equals(EXECUTE_PATH)) {
+            sampled = (config.isHonorSampledFlag() && traceparent != null && traceparent.endsWith("-01"))
+                    || ThreadLocalRandom.current().nextDouble() < config.getSampleRate();
+        }
+
+        ExecutionTrace trace = ExecutionTrace.start(start, sampled, traceparent,
+                request.getHeader(ExecutionTrace.TRACESTATE));
+        ExecutionTrace previous = ExecutionTrace.bind(trace);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ExecutionTrace.bind(previous);
+        }
+    }
+
+    private static String pathWithinApplication(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
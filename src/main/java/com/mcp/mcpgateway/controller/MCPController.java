@@ -2,22 +2,58 @@ package com.mcp.mcpgateway.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mcp.mcpgateway.config.ExecutionConfig;
+import com.mcp.mcpgateway.config.ExecutionConfig.ExecutionMode;
+import com.mcp.mcpgateway.config.TracingConfig;
+import com.mcp.mcpgateway.model.BatchItemResponse;
+import com.mcp.mcpgateway.model.ExecutionPriority;
 import com.mcp.mcpgateway.model.MCPResponse;
 import com.mcp.mcpgateway.model.Tool;
 import com.mcp.mcpgateway.model.ToolExecutionRequest;
+import com.mcp.mcpgateway.model.ToolQuery;
+import com.mcp.mcpgateway.model.ToolSearchResult;
+import com.mcp.mcpgateway.service.AdmissionRejectedException;
+import com.mcp.mcpgateway.service.BatchExecutionService;
+import com.mcp.mcpgateway.service.ExecutionTrace;
+import com.mcp.mcpgateway.service.GatewayMetrics;
+import com.mcp.mcpgateway.service.InvalidParametersException;
+import com.mcp.mcpgateway.service.RemoteCallScope;
+import com.mcp.mcpgateway.service.StreamingExecutionService;
+import com.mcp.mcpgateway.service.ToolCatalogCache;
+import com.mcp.mcpgateway.service.ToolRegistrySnapshot;
+import com.mcp.mcpgateway.service.ToolSearchIndex;
 import com.mcp.mcpgateway.service.ToolService;
+import com.mcp.mcpgateway.service.ToolStreamListener;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @RestController
@@ -25,24 +61,130 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class MCPController {
 
+    private static final String REGISTRY_VERSION_HEADER = "X-Registry-Version";
+    private static final String SERVER_TIMING_HEADER = "Server-Timing";
+    private static final String TENANT_HEADER = "X-Tenant-Id";
+    private static final String PRIORITY_HEADER = "X-Priority";
+
     private final ToolService toolService;
+    private final BatchExecutionService batchExecutionService;
+    private final StreamingExecutionService streamingExecutionService;
+    private final ToolCatalogCache catalogCache;
+    private final ToolSearchIndex searchIndex;
+    private final ExecutionConfig executionConfig;
+    private final GatewayMetrics metrics;
+    private final TracingConfig tracingConfig;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/tools")
-    public ResponseEntity<MCPResponse<List<Tool>>> getTools() {
+    public ResponseEntity<byte[]> getTools(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
-            List<Tool> tools = toolService.getAllTools();
-            return ResponseEntity.ok(MCPResponse.success(tools));
+            // Serialized once per registry version; unchanged polls are answered with 304 from the ETag
+            ToolCatalogCache.Catalog catalog = catalogCache.get(toolService.getRegistrySnapshot());
+            boolean gzipped = acceptsGzip(acceptEncoding);
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(REGISTRY_VERSION_HEADER, String.valueOf(catalog.getVersion()))
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .eTag(catalog.etag(gzipped));
+            if (gzipped) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return response.body(catalog.body(gzipped));
         } catch (Exception e) {
             log.error("Error to find tools", e);
-            return ResponseEntity.ok(MCPResponse.error("TOOLS_ERROR", "Error to find tools available"));
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(toJson(MCPResponse.error("TOOLS_ERROR", "Error to find tools available")));
+        }
+    }
+
+    // gzip when it is listed with a non-zero q-value, or not listed but covered by a non-zero "*"
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double wildcard = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = gzip == null ? quality : Math.max(gzip, quality);
+            } else if (coding.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        if (gzip != null) {
+            return gzip > 0;
+        }
+        return wildcard != null && wildcard > 0;
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @GetMapping("/search/tools")
+    public ResponseEntity<MCPResponse<ToolSearchResult>> searchTools(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String serviceId,
+            @RequestParam(required = false) List<String> metadata,
+            @RequestParam(defaultValue = "0") int limit,
+            @RequestParam(required = false) String cursor) {
+        try {
+            // metadata filters are given as key:value
+            Map<String, String> metadataFilters = new LinkedHashMap<>();
+            if (metadata != null) {
+                for (String filter : metadata) {
+                    int separator = filter.indexOf(':');
+                    if (separator <= 0) {
+                        return ResponseEntity.ok(MCPResponse.error("INVALID_QUERY", "Metadata filter must be key:value: " + filter));
+                    }
+                    metadataFilters.put(filter.substring(0, separator), filter.substring(separator + 1));
+                }
+            }
+
+            ToolQuery query = ToolQuery.builder()
+                    .text(q)
+                    .namePrefix(prefix)
+                    .serviceId(serviceId)
+                    .metadata(metadataFilters)
+                    .limit(limit)
+                    .cursor(cursor)
+                    .build();
+            return ResponseEntity.ok(MCPResponse.success(searchIndex.search(toolService.getRegistrySnapshot(), query)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(MCPResponse.error("INVALID_QUERY", e.getMessage()));
         }
     }
 
     @GetMapping("/tools/{toolName}")
     public ResponseEntity<MCPResponse<Tool>> getTool(@PathVariable String toolName) {
         try {
-            return toolService.getToolByName(toolName)
-                    .map(tool -> ResponseEntity.ok(MCPResponse.success(tool)))
+            ToolRegistrySnapshot registry = toolService.getRegistrySnapshot();
+            return Optional.ofNullable(registry.get(toolName))
+                    .map(tool -> ResponseEntity.ok()
+                            .header(REGISTRY_VERSION_HEADER, String.valueOf(registry.getVersion()))
+                            .body(MCPResponse.success(tool)))
                     .orElse(ResponseEntity.ok(MCPResponse.error("TOOL_NOT_FOUND", "Not Found: " + toolName)));
         } catch (Exception e) {
             log.error("Not Found: {}", toolName, e);
@@ -50,22 +192,246 @@ public class MCPController {
         }
     }
 
+    // A ResponseEntity in BLOCKING mode, a CompletableFuture of one when the execution is handed to other threads
     @PostMapping("/execute")
-    public ResponseEntity<MCPResponse<Object>> executeTool(@RequestBody ToolExecutionRequest request) {
+    public Object executeTool(
+            @RequestBody ToolExecutionRequest request,
+            @RequestHeader(value = TENANT_HEADER, required = false) String tenant,
+            @RequestHeader(value = PRIORITY_HEADER, required = false) String priority) {
+        ExecutionTrace trace = ExecutionTrace.current();
+        if (trace != null) {
+            trace.add(ExecutionTrace.Phase.DESERIALIZE, trace.getStartNanos());
+        }
+        applyLane(request, tenant, priority);
+
+        long start = metrics.apiStarted();
+        if (executionConfig.getMode() == ExecutionMode.BLOCKING) {
+            // Answered on the request thread, without an async dispatch of the servlet request
+            ResponseEntity<MCPResponse<Object>> response;
+            try {
+                response = executionResponse(request, toolService.executeTool(request));
+            } catch (RuntimeException e) {
+                response = executionFailure(request, e);
+            }
+            metrics.apiFinished("execute", responseCode(response), start);
+            return withTimings(response, trace);
+        }
+
+        return toolService.executeToolAsync(request)
+                .thenApply(result -> executionResponse(request, result))
+                .exceptionally(e -> executionFailure(request,
+                        e instanceof CompletionException && e.getCause() != null ? e.getCause() : e))
+                .whenComplete((response, e) -> metrics.apiFinished("execute", responseCode(response), start))
+                .thenApply(response -> withTimings(response, trace));
+    }
+
+    private static ResponseEntity<MCPResponse<Object>> executionResponse(ToolExecutionRequest request,
+                                                                         Optional<Object> result) {
+        return result
+                .map(value -> ResponseEntity.ok(MCPResponse.success(value)))
+                .orElse(ResponseEntity.ok(MCPResponse.error("EXECUTION_ERROR", "Not Found: " + request.getToolName())));
+    }
+
+    private static ResponseEntity<MCPResponse<Object>> executionFailure(ToolExecutionRequest request, Throwable cause) {
+        if (cause instanceof InvalidParametersException invalid) {
+            return ResponseEntity.ok(invalid.toResponse());
+        }
+        if (cause instanceof AdmissionRejectedException rejected) {
+            return ResponseEntity.status(rejected.getStatus())
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(rejected.getRetryAfterSeconds()))
+                    .body(rejected.toResponse());
+        }
+        if (cause instanceof RejectedExecutionException) {
+            log.warn("Execution of {} rejected, worker queue is full", request.getToolName());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(MCPResponse.error("EXECUTION_REJECTED", "Gateway is at capacity, retry later"));
+        }
+        log.error("Not Found: {}", request.getToolName(), cause);
+        return ResponseEntity.ok(MCPResponse.error("EXECUTION_ERROR", "Not Found: " + request.getToolName(), cause.getMessage()));
+    }
+
+    // Sampled executions are serialized here, so that serialization can be timed before the headers are sent
+    private ResponseEntity<?> withTimings(ResponseEntity<MCPResponse<Object>> response, ExecutionTrace trace) {
+        boolean header = tracingConfig.isServerTimingHeader();
+        boolean body = tracingConfig.isTimingsInResponse();
+        if (trace == null || !trace.isSampled() || response.getBody() == null || (!header && !body)) {
+            return response;
+        }
+
+        MCPResponse<Object> mcpResponse = response.getBody();
+        if (body) {
+            mcpResponse.setTimings(trace.timings());
+        }
+        long serializationStart = System.nanoTime();
+        byte[] json = toJson(mcpResponse);
+        trace.add(ExecutionTrace.Phase.SERIALIZE, serializationStart);
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .contentType(MediaType.APPLICATION_JSON);
+        if (header) {
+            builder.header(SERVER_TIMING_HEADER, trace.serverTiming());
+        }
+        return builder.body(json);
+    }
+
+    // Tenant and priority in the request win over the headers; the priority is capped for the tenant
+    private void applyLane(ToolExecutionRequest request, String tenant, String priority) {
+        if (request == null) {
+            // A null batch item, answered as INVALID_REQUEST by the batch
+            return;
+        }
+        if (request.getTenant() == null) {
+            request.setTenant(tenant);
+        }
+        if (request.getPriority() == null && priority != null) {
+            request.setPriority(ExecutionPriority.parse(priority));
+            if (request.getPriority() == null) {
+                log.debug("Ignoring unknown priority {}", priority);
+            }
+        }
+        request.setPriority(executionConfig.allowedPriority(request.getTenant(), request.getPriority()));
+    }
+
+    private static String responseCode(ResponseEntity<? extends MCPResponse<?>> response) {
+        MCPResponse<?> body = response != null ? response.getBody() : null;
+        if (body == null || body.getError() == null) {
+            return body != null && body.isSuccess() ? "OK" : "ERROR";
+        }
+        return body.getError().getCode();
+    }
+
+    @PostMapping("/execute/batch")
+    public CompletableFuture<ResponseEntity<MCPResponse<List<BatchItemResponse>>>> executeBatch(
+            @RequestBody List<ToolExecutionRequest> requests,
+            @RequestHeader(value = TENANT_HEADER, required = false) String tenant,
+            @RequestHeader(value = PRIORITY_HEADER, required = false) String priority) {
+        if (requests.size() > executionConfig.getBatchMaxSize()) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok(batchTooLarge(requests)));
+        }
+        requests.forEach(request -> applyLane(request, tenant, priority));
+
+        return batchExecutionService.executeBatch(requests, item -> { })
+                .thenApply(results -> ResponseEntity.ok(MCPResponse.success(results)));
+    }
+
+    @PostMapping(value = "/execute/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamBatch(
+            @RequestBody List<ToolExecutionRequest> requests,
+            @RequestHeader(value = TENANT_HEADER, required = false) String tenant,
+            @RequestHeader(value = PRIORITY_HEADER, required = false) String priority) {
+        // Items are written as one JSON line each, in completion order
+        ObjectWriter lineWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+
+        if (requests.size() > executionConfig.getBatchMaxSize()) {
+            sendLine(emitter, lineWriter, batchTooLarge(requests));
+            emitter.complete();
+        } else {
+            requests.forEach(request -> applyLane(request, tenant, priority));
+            batchExecutionService.executeBatch(requests, item -> sendLine(emitter, lineWriter, item))
+                    .whenComplete((results, e) -> {
+                        if (e != null) {
+                            emitter.completeWithError(e);
+                        } else {
+                            emitter.complete();
+                        }
+                    });
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(emitter);
+    }
+
+    @PostMapping(value = "/execute/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamExecution(
+            @RequestBody ToolExecutionRequest request,
+            @RequestHeader(value = TENANT_HEADER, required = false) String tenant,
+            @RequestHeader(value = PRIORITY_HEADER, required = false) String priority) {
+        applyLane(request, tenant, priority);
+        ObjectWriter dataWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        SseEmitter emitter = new SseEmitter(executionConfig.getStreamTimeoutMs());
+
+        RemoteCallScope scope = streamingExecutionService.execute(request, new ToolStreamListener() {
+            @Override
+            public void send(String event, Object data) throws IOException {
+                emitter.send(SseEmitter.event().name(event).data(dataWriter.writeValueAsString(data)));
+            }
+
+            @Override
+            public void heartbeat() throws IOException {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+
+            @Override
+            public void complete() {
+                emitter.complete();
+            }
+        });
+        cancelOnDisconnect(emitter, scope);
+        return emitter;
+    }
+
+    @PostMapping(value = "/execute/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamExecutionLines(
+            @RequestBody ToolExecutionRequest request,
+            @RequestHeader(value = TENANT_HEADER, required = false) String tenant,
+            @RequestHeader(value = PRIORITY_HEADER, required = false) String priority) {
+        applyLane(request, tenant, priority);
+        ObjectWriter lineWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(executionConfig.getStreamTimeoutMs());
+
+        RemoteCallScope scope = streamingExecutionService.execute(request, new ToolStreamListener() {
+            @Override
+            public void send(String event, Object data) throws IOException {
+                Map<String, Object> line = new LinkedHashMap<>();
+                line.put("event", event);
+                line.put("data", data);
+                emitter.send(lineWriter.writeValueAsString(line) + "\n", MediaType.TEXT_PLAIN);
+            }
+
+            @Override
+            public void heartbeat() throws IOException {
+                emitter.send("{\"event\":\"heartbeat\"}\n", MediaType.TEXT_PLAIN);
+            }
+
+            @Override
+            public void complete() {
+                emitter.complete();
+            }
+        });
+        cancelOnDisconnect(emitter, scope);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(emitter);
+    }
+
+    private void cancelOnDisconnect(ResponseBodyEmitter emitter, RemoteCallScope scope) {
+        emitter.onTimeout(scope::cancel);
+        emitter.onError(e -> scope.cancel());
+    }
+
+    private void sendLine(ResponseBodyEmitter emitter, ObjectWriter lineWriter, Object line) {
         try {
-            return toolService.executeTool(request)
-                    .map(result -> ResponseEntity.ok(MCPResponse.success(result)))
-                    .orElse(ResponseEntity.ok(MCPResponse.error("EXECUTION_ERROR", "Not Found: " + request.getToolName())));
-        } catch (Exception e) {
-            log.error("Not Found: {}", request.getToolName(), e);
-            return ResponseEntity.ok(MCPResponse.error("EXECUTION_ERROR", "Not Found: " + request.getToolName(), e.getMessage()));
+            emitter.send(lineWriter.writeValueAsString(line) + "\n", MediaType.TEXT_PLAIN);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
+    private <T> MCPResponse<T> batchTooLarge(List<ToolExecutionRequest> requests) {
+        return MCPResponse.error("BATCH_TOO_LARGE",
+                "Batch of " + requests.size() + " exceeds the limit of " + executionConfig.getBatchMaxSize());
+    }
+
     @GetMapping("/health")
     public ResponseEntity<MCPResponse<Map<String, String>>> healthCheck() {
         Map<String, String> status = new HashMap<>();
         status.put("status", "ok");
+        status.put("registryVersion", String.valueOf(toolService.getRegistrySnapshot().getVersion()));
         return ResponseEntity.ok(MCPResponse.success(status));
     }
 } 
\ No newline at end of file
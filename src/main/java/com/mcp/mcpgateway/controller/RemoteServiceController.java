@@ -1,17 +1,36 @@
 package com.mcp.mcpgateway.controller;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.mcp.mcpgateway.config.RemoteServicesConfig;
+import com.mcp.mcpgateway.model.RefreshReport;
+import com.mcp.mcpgateway.model.RefreshReport.ServiceRefresh;
 import com.mcp.mcpgateway.model.Tool;
+import com.mcp.mcpgateway.service.AdmissionControl;
+import com.mcp.mcpgateway.service.ExecutionDispatcher;
+import com.mcp.mcpgateway.service.RemoteHttpClientManager;
+import com.mcp.mcpgateway.service.RemoteLoadBalancer;
+import com.mcp.mcpgateway.service.RemoteServiceGuard;
 import com.mcp.mcpgateway.service.RemoteServiceManager;
+import com.mcp.mcpgateway.service.RemoteToolInvoker;
+import com.mcp.mcpgateway.service.ToolCallCoalescer;
+import com.mcp.mcpgateway.service.ToolResultCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +44,14 @@ public class RemoteServiceController {
 
     private final RemoteServicesConfig config;
     private final RemoteServiceManager remoteServiceManager;
+    private final RemoteHttpClientManager httpClientManager;
+    private final RemoteServiceGuard serviceGuard;
+    private final RemoteLoadBalancer loadBalancer;
+    private final RemoteToolInvoker toolInvoker;
+    private final ToolResultCache resultCache;
+    private final ToolCallCoalescer coalescer;
+    private final ExecutionDispatcher executionDispatcher;
+    private final AdmissionControl admissionControl;
 
     @GetMapping("/config")
     public ResponseEntity<RemoteServicesConfig> getConfiguration() {
@@ -37,15 +64,112 @@ public class RemoteServiceController {
         return ResponseEntity.ok(tools);
     }
 
+    @GetMapping("/pools")
+    public ResponseEntity<Map<String, Map<String, Object>>> getPoolStats() {
+        return ResponseEntity.ok(httpClientManager.getPoolStats());
+    }
+
+    @GetMapping("/circuit-breakers")
+    public ResponseEntity<Map<String, Map<String, Object>>> getCircuitBreakers() {
+        return ResponseEntity.ok(serviceGuard.getState());
+    }
+
+    @PostMapping("/circuit-breakers/{serviceId}/reset")
+    public ResponseEntity<Map<String, Map<String, Object>>> resetCircuitBreaker(@PathVariable String serviceId) {
+        log.info("Manual reset of circuit breaker for service {} requested", serviceId);
+        serviceGuard.reset(serviceId);
+        return ResponseEntity.ok(serviceGuard.getState());
+    }
+
+    @GetMapping("/replicas")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> getReplicas() {
+        return ResponseEntity.ok(loadBalancer.getState());
+    }
+
+    @GetMapping("/hedging")
+    public ResponseEntity<Map<String, Object>> getHedging() {
+        return ResponseEntity.ok(toolInvoker.getState());
+    }
+
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Map<String, Object>>> getCacheStats() {
+        return ResponseEntity.ok(resultCache.getStats());
+    }
+
+    @GetMapping("/coalescing")
+    public ResponseEntity<Map<String, Map<String, Object>>> getCoalescingStats() {
+        return ResponseEntity.ok(coalescer.getStats());
+    }
+
+    @GetMapping("/scheduling")
+    public ResponseEntity<Map<String, Object>> getSchedulingState() {
+        return ResponseEntity.ok(executionDispatcher.getSchedulingState());
+    }
+
+    @GetMapping("/admission")
+    public ResponseEntity<Map<String, Object>> getAdmissionState() {
+        return ResponseEntity.ok(admissionControl.getState());
+    }
+
     @PostMapping("/refresh")
     public ResponseEntity<Map<String, Object>> refreshTools() {
         log.info("Manual refresh of remote tools requested");
-        remoteServiceManager.refreshRemoteTools();
+        RefreshReport report = remoteServiceManager.refreshRemoteTools();
         
         return ResponseEntity.ok(Map.of(
                 "status", "success",
                 "message", "Remote tools refreshed successfully",
-                "toolCount", remoteServiceManager.getAllRemoteTools().size()
+                "toolCount", remoteServiceManager.getAllRemoteTools().size(),
+                "durationMs", report.getDurationMs(),
+                "services", report.getServices()
         ));
     }
-} 
\ No newline at end of file
+
+    // Called by a service after its tool catalog changed, so only that service is fetched again. With wait=true
+    // the response is sent once the new catalog is in the registry.
+    @PostMapping("/{serviceId}/catalog-changed")
+    public ResponseEntity<Map<String, Object>> catalogChanged(@PathVariable String serviceId,
+                                                              @RequestParam(defaultValue = "false") boolean wait,
+                                                              @RequestHeader(value = "X-Catalog-Token", required = false) String token) {
+        if (!isCatalogTokenValid(token)) {
+            log.warn("Rejected catalog change notification for service {}: invalid token", serviceId);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(
+                    "status", "error",
+                    "message", "Invalid catalog token"));
+        }
+
+        CompletableFuture<ServiceRefresh> refresh;
+        try {
+            refresh = remoteServiceManager.refreshService(serviceId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
+                    "status", "error",
+                    "message", e.getMessage()));
+        }
+        log.debug("Service {} announced a catalog change", serviceId);
+
+        if (!wait) {
+            return ResponseEntity.accepted().body(Map.of(
+                    "status", "accepted",
+                    "serviceId", serviceId));
+        }
+        try {
+            return ResponseEntity.ok(Map.of(
+                    "status", "success",
+                    "service", refresh.join()));
+        } catch (CompletionException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
+                    "status", "error",
+                    "message", String.valueOf(e.getCause().getMessage())));
+        }
+    }
+
+    private boolean isCatalogTokenValid(String token) {
+        String expected = config.getCatalogChangeToken();
+        if (expected == null || expected.isEmpty()) {
+            return true;
+        }
+        return token != null && MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,29 @@
+package com.mcp.mcpgateway.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResponse {
+    private int index;
+    private String toolName;
+    private boolean success;
+    private Object data;
+    private MCPResponse.ErrorDetails error;
+
+    public static BatchItemResponse of(int index, String toolName, MCPResponse<Object> response) {
+        return BatchItemResponse.builder()
+                .index(index)
+                .toolName(toolName)
+                .success(response.isSuccess())
+                .data(response.getData())
+                .error(response.getError())
+                .build();
+    }
+}
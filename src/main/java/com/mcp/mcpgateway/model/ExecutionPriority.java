@@ -0,0 +1,26 @@
+package com.mcp.mcpgateway.model;
+
+import java.util.Locale;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+// Priority lane of an execution; the share of workers each lane gets is set by mcp.execution.priority-weights
+public enum ExecutionPriority {
+    INTERACTIVE,
+    NORMAL,
+    BULK;
+
+    // Case-insensitive, in request bodies as in the X-Priority header. Unknown values give null, so the
+    // execution runs at the default priority either way
+    @JsonCreator
+    public static ExecutionPriority parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
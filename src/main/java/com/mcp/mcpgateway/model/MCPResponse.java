@@ -1,5 +1,7 @@
 package com.mcp.mcpgateway.model;
 
+import java.util.Map;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,6 +16,8 @@ public class MCPResponse<T> {
     private boolean success;
     private T data;
     private ErrorDetails error;
+    // Phase timings in milliseconds, only on sampled executions (mcp.tracing.timings-in-response)
+    private Map<String, Double> timings;
     
     @Data
     @Builder
@@ -0,0 +1,18 @@
+package com.mcp.mcpgateway.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParameterViolation {
+    private String parameter;
+    // REQUIRED, INVALID_TYPE, NOT_ALLOWED, TOO_SMALL, TOO_LARGE, TOO_SHORT, TOO_LONG or PATTERN_MISMATCH
+    private String code;
+    private String message;
+}
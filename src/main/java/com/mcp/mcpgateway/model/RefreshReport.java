@@ -0,0 +1,42 @@
+package com.mcp.mcpgateway.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshReport {
+    private long durationMs;
+    private int toolCount;
+    private boolean changed;
+    private List<ServiceRefresh> services;
+
+    public enum Status {
+        UPDATED,
+        UNCHANGED,
+        FAILED,
+        TIMEOUT
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ServiceRefresh {
+        private String serviceId;
+        private Status status;
+        private int toolCount;
+        private int added;
+        private int modified;
+        private int removed;
+        private long durationMs;
+        private String error;
+    }
+}
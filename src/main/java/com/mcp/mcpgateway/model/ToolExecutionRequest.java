@@ -15,4 +15,11 @@ import lombok.NoArgsConstructor;
 public class ToolExecutionRequest {
     private String toolName;
     private Map<String, Object> parameters;
-} 
\ No newline at end of file
+    // Scheduling lane; when absent, taken from the X-Tenant-Id and X-Priority headers
+    private String tenant;
+    private ExecutionPriority priority;
+
+    public ToolExecutionRequest(String toolName, Map<String, Object> parameters) {
+        this(toolName, parameters, null, null);
+    }
+}
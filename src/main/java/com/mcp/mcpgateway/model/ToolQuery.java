@@ -0,0 +1,25 @@
+package com.mcp.mcpgateway.model;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ToolQuery {
+    // Words that must all appear in the name or description
+    private String text;
+    private String namePrefix;
+    private String serviceId;
+    // Metadata entries that must match, compared as strings
+    private Map<String, String> metadata;
+    private int limit;
+    // Opaque position returned as nextCursor by the previous page
+    private String cursor;
+}
@@ -0,0 +1,20 @@
+package com.mcp.mcpgateway.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ToolSearchResult {
+    private List<Tool> tools;
+    private int total;
+    private String nextCursor;
+    private long registryVersion;
+}
@@ -0,0 +1,233 @@
+package com.mcp.mcpgateway.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.mcp.mcpgateway.config.AdmissionConfig;
+import com.mcp.mcpgateway.config.AdmissionConfig.RateLimit;
+import com.mcp.mcpgateway.model.Tool;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Sheds load at the edge instead of queueing it: token buckets per client and per tool answer 429,
+// the adaptive concurrency limit answers 503, both with Retry-After
+@Slf4j
+@Component
+public class AdmissionControl {
+
+    private final AdmissionConfig config;
+    private final GatewayMetrics metrics;
+    private final ConcurrencyLimit concurrencyLimit;
+    // Bounded by sweeps once maxTrackedClients is reached, so finding a bucket never takes a shared lock
+    private final Map<String, TokenBucket> clientBuckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final Map<String, ToolLimit> toolLimits = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> rejected = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<Permit> CURRENT_PERMIT = new ThreadLocal<>();
+
+    public AdmissionControl(AdmissionConfig config, GatewayMetrics metrics) {
+        this.config = config;
+        this.metrics = metrics;
+        this.concurrencyLimit = new ConcurrencyLimit(config.getConcurrency());
+        metrics.bindConcurrencyLimit(concurrencyLimit::getLimit, concurrencyLimit::getInFlight);
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    public boolean isConcurrencyLimited() {
+        return config.isEnabled() && config.getConcurrency().isEnabled();
+    }
+
+    public void admitClient(String clientId) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        RateLimit limit = config.getClients().getOrDefault(clientId, config.getClient());
+        if (limit.getRatePerSecond() <= 0) {
+            return;
+        }
+
+        TokenBucket bucket = clientBuckets.get(clientId);
+        if (bucket == null) {
+            if (clientBuckets.size() >= Math.max(1, config.getMaxTrackedClients())) {
+                sweepClientBuckets();
+            }
+            bucket = clientBuckets.computeIfAbsent(clientId,
+                    id -> new TokenBucket(limit.getRatePerSecond(), limit.getBurst()));
+        }
+
+        long waitNanos = bucket.tryAcquire();
+        if (waitNanos > 0) {
+            throw reject("client", HttpStatus.TOO_MANY_REQUESTS, "RATE_LIMITED",
+                    "Rate limit of client " + clientId + " exceeded", retryAfterSeconds(waitNanos));
+        }
+    }
+
+    // Full buckets go first, a new bucket would be the same. If that is not enough, any others go until a tenth
+    // of the room is free again, so sweeps stay rare even when every tracked client is active
+    private void sweepClientBuckets() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int max = Math.max(1, config.getMaxTrackedClients());
+            clientBuckets.values().removeIf(TokenBucket::isFull);
+            Iterator<TokenBucket> buckets = clientBuckets.values().iterator();
+            while (clientBuckets.size() > max - Math.max(1, max / 10) && buckets.hasNext()) {
+                buckets.next();
+                buckets.remove();
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    public void admitTool(Tool tool) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        ToolLimit current = toolLimits.get(tool.getName());
+        if (current == null || current.tool != tool) {
+            // A new definition of the tool (e.g. after a refresh) may carry new limits
+            current = toolLimits.compute(tool.getName(), (name, limit) -> limit != null && limit.tool == tool
+                    ? limit
+                    : new ToolLimit(tool, bucketOf(tool)));
+        }
+        if (current.bucket == null) {
+            return;
+        }
+
+        long waitNanos = current.bucket.tryAcquire();
+        if (waitNanos > 0) {
+            throw reject("tool", HttpStatus.TOO_MANY_REQUESTS, "RATE_LIMITED",
+                    "Rate limit of tool " + tool.getName() + " exceeded", retryAfterSeconds(waitNanos));
+        }
+    }
+
+    // Every permit must be released once the request completed
+    public Permit acquire() {
+        if (!concurrencyLimit.tryAcquire()) {
+            throw reject("overload", HttpStatus.SERVICE_UNAVAILABLE, "OVERLOADED",
+                    "Gateway is at capacity, retry later", config.getOverloadRetryAfterSeconds());
+        }
+        return new Permit(System.nanoTime());
+    }
+
+    // Only requests that reached a tool tell the limit something about latency; requests rejected or
+    // answered before that (rate limited, invalid, unknown tool, cached) are just counted out
+    public void release(Permit permit) {
+        concurrencyLimit.release(permit.startNanos, permit.executed);
+    }
+
+    public static Permit currentPermit() {
+        return CURRENT_PERMIT.get();
+    }
+
+    // Makes the permit current on this thread and returns the one it replaces
+    public static Permit bind(Permit permit) {
+        Permit previous = CURRENT_PERMIT.get();
+        if (permit != null) {
+            CURRENT_PERMIT.set(permit);
+        } else {
+            CURRENT_PERMIT.remove();
+        }
+        return previous;
+    }
+
+    public static <T> T run(Permit permit, Supplier<T> call) {
+        if (permit == null) {
+            return call.get();
+        }
+        Permit previous = bind(permit);
+        try {
+            return call.get();
+        } finally {
+            bind(previous);
+        }
+    }
+
+    // Called once the request is about to call a tool
+    public static void markExecuted() {
+        Permit permit = CURRENT_PERMIT.get();
+        if (permit != null) {
+            permit.executed = true;
+        }
+    }
+
+    public Map<String, Object> getState() {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("enabled", config.isEnabled());
+        state.put("concurrency", concurrencyLimit.getState());
+        state.put("trackedClients", clientBuckets.size());
+        Map<String, Long> rejectedCounts = new LinkedHashMap<>();
+        rejected.forEach((reason, count) -> rejectedCounts.put(reason, count.sum()));
+        state.put("rejected", rejectedCounts);
+        return state;
+    }
+
+    private AdmissionRejectedException reject(String reason, HttpStatus status, String code, String message,
+                                              int retryAfterSeconds) {
+        rejected.computeIfAbsent(reason, key -> new LongAdder()).increment();
+        metrics.admissionRejected(reason);
+        log.debug("Rejected ({}): {}", reason, message);
+        return new AdmissionRejectedException(status.value(), code, message, retryAfterSeconds);
+    }
+
+    private static int retryAfterSeconds(long waitNanos) {
+        return (int) Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private TokenBucket bucketOf(Tool tool) {
+        double rate = doubleSetting(tool, "rateLimitPerSecond", config.getTool().getRatePerSecond());
+        if (rate <= 0) {
+            return null;
+        }
+        return new TokenBucket(rate, (int) doubleSetting(tool, "rateLimitBurst", config.getTool().getBurst()));
+    }
+
+    private static double doubleSetting(Tool tool, String key, double defaultValue) {
+        Object value = tool.getMetadata() != null ? tool.getMetadata().get(key) : null;
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.toString());
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring invalid {} of tool {}: {}", key, tool.getName(), value);
+            return defaultValue;
+        }
+    }
+
+    // A slot of the concurrency limit. It follows the request across threads like ExecutionTrace does.
+    public static final class Permit {
+
+        private final long startNanos;
+        private volatile boolean executed;
+
+        Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+    }
+
+    private static class ToolLimit {
+
+        private final Tool tool;
+        private final TokenBucket bucket;
+
+        ToolLimit(Tool tool, TokenBucket bucket) {
+            this.tool = tool;
+            this.bucket = bucket;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.mcp.mcpgateway.service;
+
+import com.mcp.mcpgateway.model.MCPResponse;
+
+import lombok.Getter;
+
+
+// Thrown when a request is shed before it runs: 429 for rate limits, 503 when the gateway is at capacity.
+// Both come with a Retry-After.
+@Getter
+public class AdmissionRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+    private final String code;
+    private final int retryAfterSeconds;
+
+    public AdmissionRejectedException(int status, String code, String message, int retryAfterSeconds) {
+        super(message, null, false, false);
+        this.status = status;
+        this.code = code;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public <T> MCPResponse<T> toResponse() {
+        return MCPResponse.error(code, getMessage());
+    }
+}
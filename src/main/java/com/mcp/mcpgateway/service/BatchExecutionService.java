@@ -0,0 +1,195 @@
+package com.mcp.mcpgateway.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import com.mcp.mcpgateway.config.ExecutionConfig;
+import com.mcp.mcpgateway.model.BatchItemResponse;
+import com.mcp.mcpgateway.model.MCPResponse;
+import com.mcp.mcpgateway.model.Tool;
+import com.mcp.mcpgateway.model.ToolExecutionRequest;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchExecutionService {
+
+    private static final String LOCAL_GROUP = "";
+
+    private final ToolService toolService;
+    private final ExecutionDispatcher executionDispatcher;
+    private final ExecutionConfig config;
+
+    public CompletableFuture<List<BatchItemResponse>> executeBatch(List<ToolExecutionRequest> requests,
+                                                                   Consumer<BatchItemResponse> listener) {
+        if (requests == null || requests.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
+        log.info("Executing batch of {} tool calls", requests.size());
+        BatchRun run = new BatchRun(requests, listener);
+        run.start();
+        return run.completion;
+    }
+
+    private String groupOf(ToolExecutionRequest request) {
+        // Calls to the same remote service share a lane and reuse its pooled connections
+        return toolService.getToolByName(request.getToolName())
+                .map(Tool::getMetadata)
+                .map(metadata -> metadata.get("serviceId"))
+                .map(String::valueOf)
+                .orElse(LOCAL_GROUP);
+    }
+
+    private BatchItemResponse executeItem(int index, ToolExecutionRequest request) {
+        MCPResponse<Object> response;
+        try {
+            response = toolService.executeTool(request)
+                    .map(MCPResponse::success)
+                    .orElse(MCPResponse.error("EXECUTION_ERROR", "Not Found: " + request.getToolName()));
+        } catch (InvalidParametersException e) {
+            response = e.toResponse();
+        } catch (AdmissionRejectedException e) {
+            response = e.toResponse();
+        } catch (Exception e) {
+            log.error("Not Found: {}", request.getToolName(), e);
+            response = MCPResponse.error("EXECUTION_ERROR", "Not Found: " + request.getToolName(), e.getMessage());
+        }
+        return BatchItemResponse.of(index, request.getToolName(), response);
+    }
+
+    private class BatchRun {
+
+        private final List<ToolExecutionRequest> requests;
+        private final Consumer<BatchItemResponse> listener;
+        private final BatchItemResponse[] results;
+        private final String[] groups;
+        private final Map<String, Deque<Integer>> pending = new LinkedHashMap<>();
+        private final Map<String, Integer> running = new HashMap<>();
+        private final CompletableFuture<List<BatchItemResponse>> completion = new CompletableFuture<>();
+        // Items start from other items' threads, so the request's trace is captured up front
+        private final ExecutionTrace trace = ExecutionTrace.current();
+        private final AdmissionControl.Permit permit = AdmissionControl.currentPermit();
+        private int runningTotal;
+        private int completed;
+
+        BatchRun(List<ToolExecutionRequest> requests, Consumer<BatchItemResponse> listener) {
+            this.requests = requests;
+            this.listener = listener;
+            this.results = new BatchItemResponse[requests.size()];
+            this.groups = new String[requests.size()];
+        }
+
+        void start() {
+            int invalid = 0;
+            for (int i = 0; i < requests.size(); i++) {
+                if (requests.get(i) == null) {
+                    // A null element of the array fails on its own, the rest of the batch still runs
+                    publish(i, BatchItemResponse.of(i, null,
+                            MCPResponse.error("INVALID_REQUEST", "Batch item " + i + " is null")));
+                    invalid++;
+                    continue;
+                }
+                groups[i] = groupOf(requests.get(i));
+                pending.computeIfAbsent(groups[i], group -> new ArrayDeque<>()).add(i);
+            }
+
+            synchronized (this) {
+                completed += invalid;
+            }
+            if (invalid == results.length) {
+                completion.complete(Arrays.asList(results));
+            } else {
+                launch();
+            }
+        }
+
+        private void launch() {
+            List<Integer> ready = new ArrayList<>();
+            synchronized (this) {
+                boolean progress = true;
+                while (progress && runningTotal < config.getBatchParallelism()) {
+                    progress = false;
+
+                    // Round-robin over services, so one large group cannot take every slot
+                    Iterator<Map.Entry<String, Deque<Integer>>> lanes = pending.entrySet().iterator();
+                    while (lanes.hasNext() && runningTotal < config.getBatchParallelism()) {
+                        Map.Entry<String, Deque<Integer>> lane = lanes.next();
+                        if (running.getOrDefault(lane.getKey(), 0) >= config.getBatchPerServiceParallelism()) {
+                            continue;
+                        }
+
+                        ready.add(lane.getValue().poll());
+                        if (lane.getValue().isEmpty()) {
+                            lanes.remove();
+                        }
+                        running.merge(lane.getKey(), 1, Integer::sum);
+                        runningTotal++;
+                        progress = true;
+                    }
+                }
+            }
+
+            for (Integer index : ready) {
+                submit(index);
+            }
+        }
+
+        private void submit(int index) {
+            ToolExecutionRequest request = requests.get(index);
+            try {
+                executionDispatcher.executeParallel(request.getTenant(), request.getPriority(),
+                        () -> ExecutionTrace.run(trace, () -> AdmissionControl.run(permit, () -> {
+                            complete(index, executeItem(index, request));
+                            return null;
+                        })));
+            } catch (RejectedExecutionException e) {
+                log.warn("Batch item {} ({}) rejected, worker queue is full", index, request.getToolName());
+                complete(index, BatchItemResponse.of(index, request.getToolName(),
+                        MCPResponse.error("EXECUTION_REJECTED", "Gateway is at capacity, retry later")));
+            }
+        }
+
+        private void complete(int index, BatchItemResponse result) {
+            publish(index, result);
+
+            boolean done;
+            synchronized (this) {
+                running.merge(groups[index], -1, Integer::sum);
+                runningTotal--;
+                completed++;
+                done = completed == results.length;
+            }
+
+            if (done) {
+                completion.complete(Arrays.asList(results));
+            } else {
+                launch();
+            }
+        }
+
+        private void publish(int index, BatchItemResponse result) {
+            results[index] = result;
+            try {
+                listener.accept(result);
+            } catch (Exception e) {
+                log.debug("Batch listener failed for item {}: {}", index, e.getMessage());
+            }
+        }
+    }
+}
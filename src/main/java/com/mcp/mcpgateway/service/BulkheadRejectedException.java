@@ -0,0 +1,12 @@
+package com.mcp.mcpgateway.service;
+
+
+// Thrown when a remote service's bulkhead has no permit for the call within its maxWaitMs
+public class BulkheadRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BulkheadRejectedException(String serviceId) {
+        super("Bulkhead of service " + serviceId + " is full and does not permit further calls", null, false, false);
+    }
+}
@@ -0,0 +1,116 @@
+package com.mcp.mcpgateway.service;
+
+import com.mcp.mcpgateway.config.AdmissionConfig.ConcurrencyLimitConfig;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Concurrency limit that follows latency (Gradient2 style): the average latency of each window is compared
+// with the baseline, a slow moving average of the window latencies over about baselineWindows windows. While
+// the window stays within the tolerance the limit grows by about its square root, beyond it the limit shrinks
+// in proportion, down to half per window. Windows where less than half of the limit was in use leave it
+// unchanged, an idle gateway says nothing about its capacity. The slow average lets the baseline follow real
+// changes of the backends without ever cutting the limit on purpose; a lasting overload only creeps into it
+// over many windows while the limit is already shrinking. When the backends get much faster the baseline
+// is pulled down quickly.
+public class ConcurrencyLimit {
+
+    // Window latency under the baseline by this factor decays the baseline faster
+    private static final double FAST_DECAY_RATIO = 2;
+    private static final double FAST_DECAY = 0.95;
+
+    private final ConcurrencyLimitConfig config;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    private double estimatedLimit;
+    private double baselineNanos;
+    private double lastWindowNanos;
+    private long windowStart = System.nanoTime();
+    private long windowNanos;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public ConcurrencyLimit(ConcurrencyLimitConfig config) {
+        this.config = config;
+        this.estimatedLimit = Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), config.getInitialLimit()));
+        this.limit = (int) estimatedLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Only executed requests are sampled, answers that never reached a tool would pull the baseline down
+    public void release(long startNanos, boolean sampled) {
+        int current = inFlight.getAndDecrement();
+        if (sampled) {
+            sample(System.nanoTime() - startNanos, current);
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void sample(long latencyNanos, int concurrent) {
+        windowNanos += latencyNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, concurrent);
+
+        long now = System.nanoTime();
+        if (now - windowStart < TimeUnit.MILLISECONDS.toNanos(config.getWindowMs())
+                || windowSamples < config.getMinWindowSamples()) {
+            return;
+        }
+
+        double latency = (double) windowNanos / windowSamples;
+        boolean underused = windowMaxInFlight < estimatedLimit / 2;
+        windowStart = now;
+        windowNanos = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        lastWindowNanos = latency;
+
+        if (baselineNanos == 0) {
+            baselineNanos = latency;
+        } else {
+            baselineNanos += (latency - baselineNanos) / Math.max(1, config.getBaselineWindows());
+            if (baselineNanos / latency > FAST_DECAY_RATIO) {
+                baselineNanos *= FAST_DECAY;
+            }
+        }
+        if (underused) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, config.getTolerance() * baselineNanos / latency));
+        double next = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = estimatedLimit * (1 - config.getSmoothing()) + next * config.getSmoothing();
+        estimatedLimit = Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), estimatedLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    public synchronized Map<String, Object> getState() {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("limit", limit);
+        state.put("inFlight", inFlight.get());
+        state.put("latencyMs", lastWindowNanos / 1e6);
+        state.put("baselineLatencyMs", baselineNanos / 1e6);
+        return state;
+    }
+}
@@ -0,0 +1,143 @@
+package com.mcp.mcpgateway.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.mcp.mcpgateway.config.ExecutionConfig;
+import com.mcp.mcpgateway.model.ExecutionPriority;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExecutionDispatcher {
+
+    private final ExecutionConfig config;
+    private final GatewayMetrics metrics;
+
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private Executor executor;
+    private Executor parallelExecutor;
+    private ThreadPoolExecutor workerPool;
+    private ThreadPoolExecutor streamPool;
+    // Orders the work queued for the worker pool by tenant and priority, null when the queue is FIFO
+    private FairScheduler scheduler;
+
+    @PostConstruct
+    public void initialize() {
+        switch (config.getMode()) {
+            case OFFLOADED:
+                workerPool = createWorkerPool(config.getAsyncPoolSize(), config.getAsyncQueueCapacity());
+                scheduler = createScheduler(workerPool, config.getAsyncPoolSize(), config.getAsyncQueueCapacity());
+                executor = workerPool;
+                parallelExecutor = workerPool;
+                break;
+            case VIRTUAL:
+                // Fails startup on runtimes without virtual threads
+                executor = new VirtualThreadTaskExecutor("tool-exec-");
+                parallelExecutor = executor;
+                break;
+            default:
+                // Single executions run on the request thread, only batch items are queued
+                executor = null;
+                workerPool = createWorkerPool(config.getBatchPoolSize(), config.getAsyncQueueCapacity());
+                scheduler = createScheduler(workerPool, config.getBatchPoolSize(), config.getAsyncQueueCapacity());
+                parallelExecutor = workerPool;
+        }
+
+        // No queue: a stream either starts right away or is rejected
+        streamPool = new ThreadPoolExecutor(0, config.getStreamPoolSize(), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "tool-stream-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        log.info("Tool execution mode: {}, fair scheduling: {}", config.getMode(), scheduler != null);
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        if (workerPool != null) {
+            workerPool.shutdown();
+        }
+        streamPool.shutdownNow();
+    }
+
+    // Runs fanned out work (e.g. batch items) in the lane of the given tenant and priority, in every mode
+    public void executeParallel(String tenant, ExecutionPriority priority, Runnable task) {
+        if (scheduler != null && parallelExecutor == workerPool) {
+            scheduler.execute(tenant, priority, task);
+        } else {
+            parallelExecutor.execute(task);
+        }
+    }
+
+    public Map<String, Object> getSchedulingState() {
+        return scheduler != null ? scheduler.getState() : Map.of("enabled", false);
+    }
+
+    // Executor for streaming executions, which run for the lifetime of the stream
+    public Executor getStreamExecutor() {
+        return streamPool;
+    }
+
+    private FairScheduler createScheduler(Executor pool, int poolSize, int queueCapacity) {
+        return config.isFairScheduling() ? new FairScheduler(pool, poolSize, queueCapacity, config, metrics) : null;
+    }
+
+    private ThreadPoolExecutor createWorkerPool(int poolSize, int queueCapacity) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                60, TimeUnit.SECONDS,
+                // With fair scheduling the scheduler holds the queue and bounds it, tasks only pass through
+                config.isFairScheduling() ? new LinkedBlockingQueue<>() : new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "tool-exec-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    public <T> CompletableFuture<T> submit(String tenant, ExecutionPriority priority, Supplier<T> task) {
+        if (executor == null) {
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        // A full worker queue surfaces as a RejectedExecutionException on the returned future
+        ExecutionTrace trace = ExecutionTrace.current();
+        AdmissionControl.Permit permit = AdmissionControl.currentPermit();
+        long queuedAt = System.nanoTime();
+        Executor lane = scheduler != null && executor == workerPool
+                ? runnable -> scheduler.execute(tenant, priority, runnable)
+                : executor;
+        try {
+            return CompletableFuture.supplyAsync(() -> ExecutionTrace.run(trace, () -> AdmissionControl.run(permit, () -> {
+                ExecutionTrace.record(ExecutionTrace.Phase.QUEUE, queuedAt);
+                return task.get();
+            })), lane);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.mcp.mcpgateway.service;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+
+// W3C trace context and phase timings of one request. It follows the execution across threads like
+// RemoteCallScope does; only sampled traces record timings, unsampled ones just carry the trace context.
+public final class ExecutionTrace {
+
+    public static final String TRACEPARENT = "traceparent";
+    public static final String TRACESTATE = "tracestate";
+
+    private static final ThreadLocal<ExecutionTrace> CURRENT = new ThreadLocal<>();
+
+    public enum Phase {
+        // Servlet dispatch and request body deserialization, up to the controller
+        DESERIALIZE,
+        // Waiting for a worker thread
+        QUEUE,
+        LOOKUP,
+        VALIDATE,
+        // Leasing a pooled connection, including connecting when none was idle
+        CONNECT,
+        REMOTE,
+        SERIALIZE
+    }
+
+    private final long startNanos;
+    private final boolean sampled;
+    private final String traceId;
+    private final String flags;
+    private final String traceState;
+    private final AtomicLongArray phaseNanos = new AtomicLongArray(Phase.values().length);
+
+    private ExecutionTrace(long startNanos, boolean sampled, String traceId, String flags, String traceState) {
+        this.startNanos = startNanos;
+        this.sampled = sampled;
+        this.traceId = traceId;
+        this.flags = flags;
+        this.traceState = traceState;
+    }
+
+    // Continues the caller's trace when its traceparent is valid, otherwise starts a new one
+    public static ExecutionTrace start(long startNanos, boolean sampled, String traceparent, String traceState) {
+        String[] parts = traceparent != null ? traceparent.trim().split("-") : new String[0];
+        if (parts.length >= 4 && isHex(parts[0], 2) && !"ff".equals(parts[0])
+                && isHex(parts[1], 32) && !isZero(parts[1])
+                && isHex(parts[2], 16) && !isZero(parts[2]) && isHex(parts[3], 2)) {
+            return new ExecutionTrace(startNanos, sampled, parts[1].toLowerCase(Locale.ROOT),
+                    parts[3].toLowerCase(Locale.ROOT), traceState);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String traceId = hex(random.nextLong() | 1) + hex(random.nextLong());
+        return new ExecutionTrace(startNanos, sampled, traceId, sampled ? "01" : "00", null);
+    }
+
+    public static ExecutionTrace current() {
+        return CURRENT.get();
+    }
+
+    // Makes the trace current on this thread and returns the one it replaces
+    public static ExecutionTrace bind(ExecutionTrace trace) {
+        ExecutionTrace previous = CURRENT.get();
+        if (trace != null) {
+            CURRENT.set(trace);
+        } else {
+            CURRENT.remove();
+        }
+        return previous;
+    }
+
+    public static <T> T run(ExecutionTrace trace, Supplier<T> call) {
+        if (trace == null) {
+            return call.get();
+        }
+        ExecutionTrace previous = bind(trace);
+        try {
+            return call.get();
+        } finally {
+            bind(previous);
+        }
+    }
+
+    public static boolean isCurrentSampled() {
+        ExecutionTrace trace = CURRENT.get();
+        return trace != null && trace.sampled;
+    }
+
+    // Adds the time since startNanos to the phase of the current trace, if it is sampled
+    public static void record(Phase phase, long startNanos) {
+        ExecutionTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.add(phase, startNanos);
+        }
+    }
+
+    public void add(Phase phase, long startNanos) {
+        if (sampled) {
+            phaseNanos.addAndGet(phase.ordinal(), System.nanoTime() - startNanos);
+        }
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public String getTraceState() {
+        return traceState;
+    }
+
+    // traceparent for an outgoing call: same trace, the gateway call as parent
+    public String childTraceparent() {
+        return "00-" + traceId + "-" + hex(ThreadLocalRandom.current().nextLong() | 1) + "-" + flags;
+    }
+
+    // Milliseconds per recorded phase
+    public Map<String, Double> timings() {
+        Map<String, Double> timings = new LinkedHashMap<>();
+        for (Phase phase : Phase.values()) {
+            long nanos = nanos(phase);
+            if (nanos > 0) {
+                timings.put(phase.name().toLowerCase(Locale.ROOT), nanos / 1_000_000.0);
+            }
+        }
+        timings.put("total", (System.nanoTime() - startNanos) / 1_000_000.0);
+        return timings;
+    }
+
+    public String serverTiming() {
+        StringBuilder header = new StringBuilder(160);
+        timings().forEach((name, ms) -> {
+            if (header.length() > 0) {
+                header.append(", ");
+            }
+            header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", ms));
+        });
+        return header.toString();
+    }
+
+    private long nanos(Phase phase) {
+        long nanos = phaseNanos.get(phase.ordinal());
+        if (phase == Phase.REMOTE) {
+            // Connection leases happen inside the remote call, report them only once
+            nanos = Math.max(0, nanos - phaseNanos.get(Phase.CONNECT.ordinal()));
+        }
+        return nanos;
+    }
+
+    private static String hex(long value) {
+        String hex = Long.toHexString(value);
+        return hex.length() == 16 ? hex : "0".repeat(16 - hex.length()) + hex;
+    }
+
+    private static boolean isHex(String value, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (Character.digit(c, 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZero(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,194 @@
+package com.mcp.mcpgateway.service;
+
+import com.mcp.mcpgateway.config.ExecutionConfig;
+import com.mcp.mcpgateway.model.ExecutionPriority;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Caps the concurrent calls to a remote service. Callers that find every permit taken wait in lanes (a tenant
+// at a priority) tagged like in FairScheduler, and a released permit goes straight to the waiter with the lowest
+// start tag. A tenant holding every permit with a bulk batch thus gets one back only after the other lanes had
+// their share, whether the calls come from request threads or from batch workers.
+public class FairBulkhead {
+
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final long maxWaitNanos;
+    private final ExecutionConfig config;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Lane> lanes = new HashMap<>();
+    private final PriorityQueue<Lane> backlog = new PriorityQueue<>(Comparator.comparingDouble(Lane::headStart));
+    private double virtualTime;
+    private int inUse;
+    private int waiting;
+
+    public FairBulkhead(String name, int maxConcurrentCalls, long maxWaitMs, ExecutionConfig config) {
+        this.name = name;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMs));
+        this.config = config;
+    }
+
+    // Holds a permit for the duration of the call, or throws BulkheadRejectedException after waiting maxWaitMs
+    public <T> T execute(String tenant, ExecutionPriority priority, Supplier<T> call) {
+        if (!acquire(tenant, priority)) {
+            throw new BulkheadRejectedException(name);
+        }
+        try {
+            return call.get();
+        } finally {
+            release();
+        }
+    }
+
+    boolean acquire(String tenant, ExecutionPriority priority) {
+        lock.lock();
+        try {
+            // Free permits are only taken directly while nobody waits, otherwise the queue decides
+            if (inUse < maxConcurrentCalls && waiting == 0) {
+                inUse++;
+                return true;
+            }
+            if (maxWaitNanos == 0) {
+                return false;
+            }
+
+            Waiter waiter = enqueue(tenant != null && !tenant.isBlank() ? tenant : FairScheduler.DEFAULT_TENANT,
+                    priority != null ? priority : config.getDefaultPriority());
+            long remaining = maxWaitNanos;
+            while (!waiter.granted) {
+                if (remaining <= 0) {
+                    dequeue(waiter);
+                    return false;
+                }
+                try {
+                    remaining = waiter.condition.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    // E.g. a hedged attempt that lost while it waited; a permit granted meanwhile is passed on
+                    Thread.currentThread().interrupt();
+                    if (waiter.granted) {
+                        release();
+                    } else {
+                        dequeue(waiter);
+                    }
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release() {
+        lock.lock();
+        try {
+            Lane lane = backlog.poll();
+            if (lane == null) {
+                inUse--;
+                return;
+            }
+
+            // The permit passes to the next waiter without ever being free
+            Waiter next = lane.queue.poll();
+            virtualTime = next.start;
+            if (lane.queue.isEmpty()) {
+                lanes.remove(lane.key);
+            } else {
+                backlog.add(lane);
+            }
+            waiting--;
+            next.granted = true;
+            next.condition.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Object> getState() {
+        lock.lock();
+        try {
+            Map<String, Integer> waitingByLane = new LinkedHashMap<>();
+            lanes.forEach((key, lane) -> waitingByLane.put(key, lane.queue.size()));
+
+            Map<String, Object> state = new LinkedHashMap<>();
+            state.put("available", maxConcurrentCalls - inUse);
+            state.put("max", maxConcurrentCalls);
+            state.put("waiting", waiting);
+            state.put("lanes", waitingByLane);
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Waiter enqueue(String tenant, ExecutionPriority priority) {
+        String key = priority.name() + "/" + tenant;
+        Lane lane = lanes.computeIfAbsent(key, k -> new Lane(key, config.laneWeight(tenant, priority)));
+
+        double start = Math.max(virtualTime, lane.lastFinish);
+        lane.lastFinish = start + 1.0 / lane.weight;
+        Waiter waiter = new Waiter(lane, start, lock.newCondition());
+        lane.queue.add(waiter);
+        if (lane.queue.size() == 1) {
+            backlog.add(lane);
+        }
+        waiting++;
+        return waiter;
+    }
+
+    private void dequeue(Waiter waiter) {
+        Lane lane = waiter.lane;
+        backlog.remove(lane);
+        lane.queue.remove(waiter);
+        if (lane.queue.isEmpty()) {
+            lanes.remove(lane.key);
+        } else {
+            backlog.add(lane);
+        }
+        waiting--;
+    }
+
+    private static class Lane {
+
+        private final String key;
+        private final int weight;
+        private final Deque<Waiter> queue = new ArrayDeque<>();
+        private double lastFinish;
+
+        Lane(String key, int weight) {
+            this.key = key;
+            this.weight = weight;
+        }
+
+        double headStart() {
+            return queue.peek().start;
+        }
+    }
+
+    private static class Waiter {
+
+        private final Lane lane;
+        private final double start;
+        private final Condition condition;
+        // Guarded by the bulkhead's lock
+        private boolean granted;
+
+        Waiter(Lane lane, double start, Condition condition) {
+            this.lane = lane;
+            this.start = start;
+            this.condition = condition;
+        }
+    }
+}
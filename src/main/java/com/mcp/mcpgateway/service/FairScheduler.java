@@ -0,0 +1,208 @@
+package com.mcp.mcpgateway.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.mcp.mcpgateway.config.ExecutionConfig;
+import com.mcp.mcpgateway.model.ExecutionPriority;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+// Start-time fair queueing in front of a pool of maxConcurrent workers. While tasks wait, each lane (a tenant
+// at a priority) gets a share of the workers proportional to its weight; a lane alone may use all of them.
+// A queued task is tagged start = max(virtual time, lane's last finish) and finish = start + 1 / weight,
+// the lowest start tag runs next and the virtual time advances to it.
+// Workers take the next task themselves when they finish one, so a busy pool does not hand off between threads.
+@Slf4j
+public class FairScheduler {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    private final Executor workers;
+    private final int maxConcurrent;
+    private final int queueCapacity;
+    private final ExecutionConfig config;
+    private final GatewayMetrics metrics;
+
+    private final Map<String, Lane> lanes = new HashMap<>();
+    private final PriorityQueue<Lane> backlog = new PriorityQueue<>(Comparator.comparingDouble(Lane::headStart));
+    private final Map<ExecutionPriority, LaneStats> stats = new EnumMap<>(ExecutionPriority.class);
+    private double virtualTime;
+    private int running;
+    private int queued;
+
+    public FairScheduler(Executor workers, int maxConcurrent, int queueCapacity, ExecutionConfig config,
+                         GatewayMetrics metrics) {
+        this.workers = workers;
+        this.maxConcurrent = maxConcurrent;
+        this.queueCapacity = queueCapacity;
+        this.config = config;
+        this.metrics = metrics;
+        for (ExecutionPriority priority : ExecutionPriority.values()) {
+            LaneStats laneStats = new LaneStats();
+            stats.put(priority, laneStats);
+            metrics.bindSchedulerQueue(priority.name(), () -> laneStats.queued);
+        }
+    }
+
+    public void execute(String tenant, ExecutionPriority priority, Runnable task) {
+        String laneTenant = tenant != null && !tenant.isBlank() ? tenant : DEFAULT_TENANT;
+        ExecutionPriority lanePriority = priority != null ? priority : config.getDefaultPriority();
+        Pending pending;
+        synchronized (this) {
+            if (running >= maxConcurrent) {
+                if (queued >= queueCapacity) {
+                    throw new RejectedExecutionException("Execution queue is full");
+                }
+                enqueue(laneTenant, lanePriority, task);
+                return;
+            }
+            running++;
+            pending = new Pending(task, lanePriority, 0, System.nanoTime());
+        }
+        dispatched(pending);
+        start(pending);
+    }
+
+    private void start(Pending first) {
+        try {
+            workers.execute(() -> {
+                Pending pending = first;
+                while (pending != null) {
+                    try {
+                        pending.task.run();
+                    } catch (RuntimeException e) {
+                        log.error("Scheduled execution failed", e);
+                    }
+                    pending = next();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                running--;
+            }
+            throw e;
+        }
+    }
+
+    private void enqueue(String tenant, ExecutionPriority priority, Runnable task) {
+        String key = priority.name() + "/" + tenant;
+        Lane lane = lanes.computeIfAbsent(key, k -> new Lane(key, config.laneWeight(tenant, priority)));
+
+        double start = Math.max(virtualTime, lane.lastFinish);
+        lane.lastFinish = start + 1.0 / lane.weight;
+        lane.queue.add(new Pending(task, priority, start, System.nanoTime()));
+        if (lane.queue.size() == 1) {
+            backlog.add(lane);
+        }
+        queued++;
+        stats.get(priority).queued++;
+    }
+
+    // Called by a worker that finished a task: the next task to run on it, or null when nothing is queued
+    private Pending next() {
+        Pending pending;
+        synchronized (this) {
+            Lane lane = backlog.poll();
+            if (lane == null) {
+                running--;
+                return null;
+            }
+
+            pending = lane.queue.poll();
+            virtualTime = pending.start;
+            if (lane.queue.isEmpty()) {
+                lanes.remove(lane.key);
+            } else {
+                backlog.add(lane);
+            }
+            queued--;
+            stats.get(pending.priority).queued--;
+        }
+        dispatched(pending);
+        return pending;
+    }
+
+    private void dispatched(Pending pending) {
+        long waitNanos = System.nanoTime() - pending.queuedAt;
+        LaneStats laneStats = stats.get(pending.priority);
+        laneStats.dispatched.increment();
+        laneStats.waitNanos.add(waitNanos);
+        metrics.schedulerWait(pending.priority.name(), waitNanos);
+    }
+
+    public synchronized Map<String, Object> getState() {
+        Map<String, Object> priorities = new LinkedHashMap<>();
+        stats.forEach((priority, laneStats) -> {
+            long dispatched = laneStats.dispatched.sum();
+            Map<String, Object> priorityState = new LinkedHashMap<>();
+            priorityState.put("queued", laneStats.queued);
+            priorityState.put("dispatched", dispatched);
+            priorityState.put("averageWaitMs", dispatched == 0 ? 0.0 : laneStats.waitNanos.sum() / 1e6 / dispatched);
+            priorityState.put("weight", config.getPriorityWeights().getOrDefault(priority, 1));
+            priorities.put(priority.name(), priorityState);
+        });
+
+        // Only lanes with queued work exist
+        Map<String, Integer> queuedByLane = new LinkedHashMap<>();
+        lanes.forEach((key, lane) -> queuedByLane.put(key, lane.queue.size()));
+
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("running", running);
+        state.put("maxConcurrent", maxConcurrent);
+        state.put("queued", queued);
+        state.put("queueCapacity", queueCapacity);
+        state.put("priorities", priorities);
+        state.put("lanes", queuedByLane);
+        return state;
+    }
+
+    private static class Lane {
+
+        private final String key;
+        private final int weight;
+        private final Deque<Pending> queue = new ArrayDeque<>();
+        private double lastFinish;
+
+        Lane(String key, int weight) {
+            this.key = key;
+            this.weight = weight;
+        }
+
+        double headStart() {
+            return queue.peek().start;
+        }
+    }
+
+    private static class Pending {
+
+        private final Runnable task;
+        private final ExecutionPriority priority;
+        private final double start;
+        private final long queuedAt;
+
+        Pending(Runnable task, ExecutionPriority priority, double start, long queuedAt) {
+            this.task = task;
+            this.priority = priority;
+            this.start = start;
+            this.queuedAt = queuedAt;
+        }
+    }
+
+    private static class LaneStats {
+
+        // Guarded by the scheduler's lock
+        private volatile int queued;
+        private final LongAdder dispatched = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+    }
+}
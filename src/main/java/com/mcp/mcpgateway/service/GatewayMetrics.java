@@ -0,0 +1,166 @@
+package com.mcp.mcpgateway.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.mcp.mcpgateway.model.RefreshReport;
+import com.mcp.mcpgateway.model.RefreshReport.ServiceRefresh;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Meters of the execution path. Tags only take bounded values: tool names come from the registry (anything
+// else is "unknown"), service ids from the configuration and codes from a fixed set.
+// Histogram buckets are configured per meter with management.metrics.distribution.*
+// Meters recorded on every call are registered once per tag combination and then looked up by their tag values.
+@Component
+public class GatewayMetrics {
+
+    public static final String UNKNOWN = "unknown";
+    public static final String LOCAL = "local";
+
+    private final MeterRegistry registry;
+    private final Map<String, AtomicInteger> remoteInFlight = new ConcurrentHashMap<>();
+    private final Map<List<String>, Timer> apiTimers = new ConcurrentHashMap<>();
+    private final Map<List<String>, Timer> toolTimers = new ConcurrentHashMap<>();
+    private final Map<List<String>, Counter> toolErrors = new ConcurrentHashMap<>();
+    private final Map<List<String>, Timer> remoteTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> schedulerWaits = new ConcurrentHashMap<>();
+    private final Map<String, Counter> admissionRejections = new ConcurrentHashMap<>();
+    private final AtomicInteger toolsInFlight;
+    private final AtomicInteger apiInFlight;
+
+    public GatewayMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.toolsInFlight = registry.gauge("mcp.tool.inflight", new AtomicInteger());
+        this.apiInFlight = registry.gauge("mcp.api.inflight", new AtomicInteger());
+    }
+
+    // Response of an API call, tagged with the MCPResponse error code ("OK" on success)
+    public long apiStarted() {
+        apiInFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    public void apiFinished(String endpoint, String code, long startNanos) {
+        apiInFlight.decrementAndGet();
+        apiTimers.computeIfAbsent(List.of(endpoint, code), k -> Timer.builder("mcp.api.requests")
+                        .tag("endpoint", endpoint)
+                        .tag("code", code)
+                        .register(registry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // One execution through the tool service, including validation, cache and coalescing
+    public long toolStarted() {
+        toolsInFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    public void toolFinished(String tool, String serviceId, String code, long startNanos) {
+        toolsInFlight.decrementAndGet();
+        boolean ok = "OK".equals(code);
+        String outcome = ok ? "success" : "error";
+        toolTimers.computeIfAbsent(List.of(tool, serviceId, outcome), k -> Timer.builder("mcp.tool.execution")
+                        .tag("tool", tool)
+                        .tag("service", serviceId)
+                        .tag("outcome", outcome)
+                        .register(registry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (!ok) {
+            // Kept apart from the timer, a histogram per tool and code would multiply the series
+            toolErrors.computeIfAbsent(List.of(tool, serviceId, code), k -> Counter.builder("mcp.tool.errors")
+                            .tag("tool", tool)
+                            .tag("service", serviceId)
+                            .tag("code", code)
+                            .register(registry))
+                    .increment();
+        }
+    }
+
+    // One call to a remote service, hedges and retries included
+    public long remoteStarted(String serviceId) {
+        remoteInFlight.computeIfAbsent(serviceId, id ->
+                registry.gauge("mcp.remote.inflight", Tags.of("service", id),
+                        new AtomicInteger())).incrementAndGet();
+        return System.nanoTime();
+    }
+
+    public void remoteFinished(String serviceId, String code, long startNanos) {
+        remoteInFlight.get(serviceId).decrementAndGet();
+        remoteTimers.computeIfAbsent(List.of(serviceId, code), k -> Timer.builder("mcp.remote.calls")
+                        .tag("service", serviceId)
+                        .tag("code", code)
+                        .register(registry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void bindRegistry(Supplier<ToolRegistrySnapshot> snapshot) {
+        Gauge.builder("mcp.registry.tools", () -> snapshot.get().size())
+                .description("Tools in the current registry snapshot")
+                .register(registry);
+        Gauge.builder("mcp.registry.version", () -> snapshot.get().getVersion())
+                .register(registry);
+    }
+
+    // Executions waiting in the fair scheduler, per priority lane
+    public void bindSchedulerQueue(String priority, Supplier<Integer> queued) {
+        Gauge.builder("mcp.scheduler.queued", queued::get)
+                .tag("priority", priority)
+                .register(registry);
+    }
+
+    public void schedulerWait(String priority, long waitNanos) {
+        schedulerWaits.computeIfAbsent(priority, p -> Timer.builder("mcp.scheduler.wait")
+                        .tag("priority", p)
+                        .register(registry))
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void bindConcurrencyLimit(Supplier<Integer> limit, Supplier<Integer> inFlight) {
+        Gauge.builder("mcp.admission.limit", limit::get)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("mcp.admission.inflight", inFlight::get)
+                .register(registry);
+    }
+
+    // Requests shed by admission control, reason is client, tool or overload
+    public void admissionRejected(String reason) {
+        admissionRejections.computeIfAbsent(reason, r -> Counter.builder("mcp.admission.rejected")
+                        .tag("reason", r)
+                        .register(registry))
+                .increment();
+    }
+
+    @EventListener
+    public void onRemoteToolsRefreshed(RemoteToolsRefreshedEvent event) {
+        RefreshReport report = event.getReport();
+        // A single service's refresh (announced or polled) is much shorter than a refresh of all of them
+        Timer.builder("mcp.registry.refresh")
+                .tag("scope", event.getScope().name().toLowerCase(Locale.ROOT))
+                .tag("changed", String.valueOf(report.isChanged()))
+                .register(registry)
+                .record(report.getDurationMs(), TimeUnit.MILLISECONDS);
+
+        if (report.getServices() != null) {
+            for (ServiceRefresh service : report.getServices()) {
+                Timer.builder("mcp.registry.refresh.service")
+                        .tag("service", service.getServiceId())
+                        .tag("status", service.getStatus().name())
+                        .register(registry)
+                        .record(service.getDurationMs(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+}
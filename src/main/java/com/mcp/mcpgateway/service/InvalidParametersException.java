@@ -0,0 +1,29 @@
+package com.mcp.mcpgateway.service;
+
+import java.util.List;
+
+import com.mcp.mcpgateway.model.MCPResponse;
+import com.mcp.mcpgateway.model.ParameterViolation;
+
+import lombok.Getter;
+
+
+// Thrown before a tool runs when its parameters do not match the tool's definition
+@Getter
+public class InvalidParametersException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String toolName;
+    private final List<ParameterViolation> violations;
+
+    public InvalidParametersException(String toolName, List<ParameterViolation> violations) {
+        super("Invalid parameters for " + toolName + ": " + violations.size() + " violation(s)", null, false, false);
+        this.toolName = toolName;
+        this.violations = violations;
+    }
+
+    public <T> MCPResponse<T> toResponse() {
+        return MCPResponse.error("INVALID_PARAMETERS", getMessage(), violations);
+    }
+}
@@ -0,0 +1,367 @@
+package com.mcp.mcpgateway.service;
+
+import com.mcp.mcpgateway.model.ParameterViolation;
+import com.mcp.mcpgateway.model.Tool;
+import com.mcp.mcpgateway.model.ToolParameter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+// The parameter definitions of one tool version, compiled once into checks that need no lookups.
+// Supported schema keywords: type, enum, minimum, maximum, minLength, maxLength and pattern.
+public final class ParameterValidator {
+
+    private final Tool tool;
+    private final List<Rule> rules;
+
+    private ParameterValidator(Tool tool, List<Rule> rules) {
+        this.tool = tool;
+        this.rules = rules;
+    }
+
+    public static ParameterValidator compile(Tool tool) {
+        List<Rule> rules = new ArrayList<>();
+        if (tool.getParameters() != null) {
+            for (ToolParameter parameter : tool.getParameters()) {
+                if (parameter != null && parameter.getName() != null) {
+                    rules.add(new Rule(parameter));
+                }
+            }
+        }
+        return new ParameterValidator(tool, rules);
+    }
+
+    Tool getTool() {
+        return tool;
+    }
+
+    // Returns the parameters with coerced values (the same map when nothing changed)
+    public Map<String, Object> validate(Map<String, Object> parameters) {
+        Map<String, Object> input = parameters != null ? parameters : Collections.emptyMap();
+        Map<String, Object> coerced = null;
+        List<ParameterViolation> violations = null;
+
+        for (Rule rule : rules) {
+            Object value = input.get(rule.name);
+            if (value == null) {
+                if (rule.required) {
+                    violations = add(violations, rule.name, "REQUIRED", "Parameter is required");
+                }
+                continue;
+            }
+
+            Object converted = rule.type.coerce(value);
+            if (converted == null) {
+                violations = add(violations, rule.name, "INVALID_TYPE",
+                        "Expected " + rule.type.name().toLowerCase(Locale.ROOT) + " but got " + describe(value));
+                continue;
+            }
+
+            String violation = rule.check(converted);
+            if (violation != null) {
+                violations = add(violations, rule.name, violation, rule.describe(violation));
+                continue;
+            }
+
+            if (converted != value) {
+                if (coerced == null) {
+                    coerced = new LinkedHashMap<>(input);
+                }
+                coerced.put(rule.name, converted);
+            }
+        }
+
+        if (violations != null) {
+            throw new InvalidParametersException(tool.getName(), violations);
+        }
+        if (coerced != null) {
+            return coerced;
+        }
+        return parameters != null ? parameters : new LinkedHashMap<>();
+    }
+
+    private static List<ParameterViolation> add(List<ParameterViolation> violations, String parameter,
+                                                String code, String message) {
+        List<ParameterViolation> list = violations != null ? violations : new ArrayList<>();
+        list.add(ParameterViolation.builder().parameter(parameter).code(code).message(message).build());
+        return list;
+    }
+
+    private static String describe(Object value) {
+        if (value instanceof Map) {
+            return "object";
+        }
+        if (value instanceof Collection) {
+            return "array";
+        }
+        return value.getClass().getSimpleName().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Rule {
+
+        private final String name;
+        private final boolean required;
+        private final Type type;
+        private final Set<String> allowed;
+        // Numeric enum entries, compared by value so that 1, 1.0 and "1" coerced to a number all match
+        private final List<BigDecimal> allowedNumbers;
+        private final BigDecimal minimum;
+        private final BigDecimal maximum;
+        private final Integer minLength;
+        private final Integer maxLength;
+        private final Pattern pattern;
+
+        Rule(ToolParameter parameter) {
+            Map<?, ?> schema = parameter.getSchema() instanceof Map<?, ?> map ? map : Collections.emptyMap();
+
+            this.name = parameter.getName();
+            this.required = parameter.isRequired();
+            this.type = Type.of(parameter.getType() != null ? parameter.getType() : stringOrNull(schema.get("type")));
+            this.allowed = schema.get("enum") instanceof Collection<?> values ? toStrings(values) : null;
+            this.allowedNumbers = schema.get("enum") instanceof Collection<?> values ? numbers(values) : null;
+            this.minimum = decimal(schema.get("minimum"));
+            this.maximum = decimal(schema.get("maximum"));
+            this.minLength = integer(schema.get("minLength"));
+            this.maxLength = integer(schema.get("maxLength"));
+            this.pattern = pattern(schema.get("pattern"));
+        }
+
+        String check(Object value) {
+            if (allowed != null && !isAllowed(value)) {
+                return "NOT_ALLOWED";
+            }
+            if (value instanceof Number number && (minimum != null || maximum != null)) {
+                BigDecimal decimal = new BigDecimal(number.toString());
+                if (minimum != null && decimal.compareTo(minimum) < 0) {
+                    return "TOO_SMALL";
+                }
+                if (maximum != null && decimal.compareTo(maximum) > 0) {
+                    return "TOO_LARGE";
+                }
+            }
+            if (value instanceof String text) {
+                if (minLength != null && text.length() < minLength) {
+                    return "TOO_SHORT";
+                }
+                if (maxLength != null && text.length() > maxLength) {
+                    return "TOO_LONG";
+                }
+                if (pattern != null && !pattern.matcher(text).find()) {
+                    return "PATTERN_MISMATCH";
+                }
+            }
+            return null;
+        }
+
+        private boolean isAllowed(Object value) {
+            if (value instanceof Number number && !allowedNumbers.isEmpty()) {
+                BigDecimal decimal = decimal(number);
+                if (decimal != null) {
+                    for (BigDecimal option : allowedNumbers) {
+                        if (option.compareTo(decimal) == 0) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return allowed.contains(String.valueOf(value));
+        }
+
+        String describe(String violation) {
+            switch (violation) {
+                case "NOT_ALLOWED":
+                    return "Must be one of " + allowed;
+                case "TOO_SMALL":
+                    return "Must be at least " + minimum.toPlainString();
+                case "TOO_LARGE":
+                    return "Must be at most " + maximum.toPlainString();
+                case "TOO_SHORT":
+                    return "Must have at least " + minLength + " characters";
+                case "TOO_LONG":
+                    return "Must have at most " + maxLength + " characters";
+                default:
+                    return "Must match " + pattern.pattern();
+            }
+        }
+
+        private static String stringOrNull(Object value) {
+            return value instanceof String text ? text : null;
+        }
+
+        private static Set<String> toStrings(Collection<?> values) {
+            Set<String> strings = new LinkedHashSet<>();
+            for (Object value : values) {
+                strings.add(String.valueOf(value));
+            }
+            return strings;
+        }
+
+        private static List<BigDecimal> numbers(Collection<?> values) {
+            List<BigDecimal> numbers = new ArrayList<>();
+            for (Object value : values) {
+                if (value instanceof Number) {
+                    BigDecimal number = decimal(value);
+                    if (number != null) {
+                        numbers.add(number);
+                    }
+                }
+            }
+            return numbers;
+        }
+
+        private static BigDecimal decimal(Object value) {
+            if (!(value instanceof Number) && !(value instanceof String)) {
+                return null;
+            }
+            try {
+                return new BigDecimal(value.toString());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private static Integer integer(Object value) {
+            return value instanceof Number number ? number.intValue() : null;
+        }
+
+        private static Pattern pattern(Object value) {
+            if (!(value instanceof String regex)) {
+                return null;
+            }
+            try {
+                return Pattern.compile(regex);
+            } catch (PatternSyntaxException e) {
+                // A broken pattern in a remote definition must not make the tool unusable
+                return null;
+            }
+        }
+    }
+
+    // Each type returns the value to use, converting strings and numbers when it is lossless, or null if invalid
+    private enum Type {
+        STRING {
+            @Override
+            Object coerce(Object value) {
+                if (value instanceof String) {
+                    return value;
+                }
+                return value instanceof Number || value instanceof Boolean ? value.toString() : null;
+            }
+        },
+        NUMBER {
+            @Override
+            Object coerce(Object value) {
+                if (value instanceof Number) {
+                    return value;
+                }
+                if (value instanceof String text) {
+                    // Plain decimal notation only: no "1f", "2d", hex, NaN or Infinity
+                    try {
+                        BigDecimal parsed = new BigDecimal(text.trim());
+                        double narrowed = parsed.doubleValue();
+                        return Double.isFinite(narrowed) && BigDecimal.valueOf(narrowed).compareTo(parsed) == 0
+                                ? narrowed
+                                : parsed;
+                    } catch (NumberFormatException e) {
+                        return null;
+                    }
+                }
+                return null;
+            }
+        },
+        INTEGER {
+            @Override
+            Object coerce(Object value) {
+                if (value instanceof Integer || value instanceof Long || value instanceof Short
+                        || value instanceof Byte || value instanceof BigInteger) {
+                    return value;
+                }
+                if (value instanceof Number || value instanceof String) {
+                    try {
+                        return new BigDecimal(value.toString().trim()).longValueExact();
+                    } catch (NumberFormatException | ArithmeticException e) {
+                        return null;
+                    }
+                }
+                return null;
+            }
+        },
+        BOOLEAN {
+            @Override
+            Object coerce(Object value) {
+                if (value instanceof Boolean) {
+                    return value;
+                }
+                if (value instanceof String text) {
+                    if ("true".equalsIgnoreCase(text.trim())) {
+                        return Boolean.TRUE;
+                    }
+                    if ("false".equalsIgnoreCase(text.trim())) {
+                        return Boolean.FALSE;
+                    }
+                }
+                return null;
+            }
+        },
+        OBJECT {
+            @Override
+            Object coerce(Object value) {
+                return value instanceof Map ? value : null;
+            }
+        },
+        ARRAY {
+            @Override
+            Object coerce(Object value) {
+                return value instanceof Collection ? value : null;
+            }
+        },
+        ANY {
+            @Override
+            Object coerce(Object value) {
+                return value;
+            }
+        };
+
+        abstract Object coerce(Object value);
+
+        static Type of(String name) {
+            if (name == null) {
+                return ANY;
+            }
+            switch (name.trim().toLowerCase(Locale.ROOT)) {
+                case "string":
+                    return STRING;
+                case "number":
+                case "float":
+                case "double":
+                    return NUMBER;
+                case "integer":
+                case "int":
+                case "long":
+                    return INTEGER;
+                case "boolean":
+                case "bool":
+                    return BOOLEAN;
+                case "object":
+                case "map":
+                    return OBJECT;
+                case "array":
+                case "list":
+                    return ARRAY;
+                default:
+                    return ANY;
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.mcp.mcpgateway.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import com.mcp.mcpgateway.config.ExecutionConfig;
+import com.mcp.mcpgateway.model.Tool;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Compiled validators per tool; a new definition of a tool (new instance in the registry) is compiled again
+@Component
+@RequiredArgsConstructor
+public class ParameterValidators {
+
+    private final ExecutionConfig config;
+    private final Map<String, ParameterValidator> validators = new ConcurrentHashMap<>();
+
+    // Compiles the validators of a new registry up front and forgets removed tools
+    public void prepare(Collection<Tool> tools) {
+        Set<String> names = new HashSet<>();
+        for (Tool tool : tools) {
+            names.add(tool.getName());
+            validatorOf(tool);
+        }
+        validators.keySet().retainAll(names);
+    }
+
+    // Returns the parameters to execute with, coerced to the declared types
+    public Map<String, Object> validate(Tool tool, Map<String, Object> parameters) {
+        if (!config.isValidateParameters()) {
+            return parameters;
+        }
+        return validatorOf(tool).validate(parameters);
+    }
+
+    private ParameterValidator validatorOf(Tool tool) {
+        ParameterValidator validator = validators.get(tool.getName());
+        if (validator != null && validator.getTool() == tool) {
+            return validator;
+        }
+        return validators.compute(tool.getName(), (name, existing) -> existing != null && existing.getTool() == tool
+                ? existing
+                : ParameterValidator.compile(tool));
+    }
+}
@@ -0,0 +1,157 @@
+package com.mcp.mcpgateway.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Tool catalogs of the remote services on disk. The file is a header (magic, format version, payload length
+// and CRC32 of the payload) followed by the gzipped JSON payload. A file that does not match in any way is
+// ignored, the gateway then starts cold. Writes go to a temporary file that replaces the snapshot, so a crash
+// never leaves a partial one behind.
+@Slf4j
+final class RegistrySnapshotStore {
+
+    private static final int MAGIC = 0x4D435052;
+    static final int FORMAT_VERSION = 1;
+
+    private final Path path;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    RegistrySnapshotStore(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.writer = objectMapper.writerFor(Snapshot.class).without(SerializationFeature.INDENT_OUTPUT);
+        this.reader = objectMapper.readerFor(Snapshot.class);
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    Optional<Snapshot> load() {
+        byte[] file;
+        try {
+            file = Files.readAllBytes(path);
+        } catch (NoSuchFileException e) {
+            log.info("No registry snapshot at {}", path);
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Could not read registry snapshot {}: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(file))) {
+            if (in.readInt() != MAGIC) {
+                log.warn("Ignoring registry snapshot {}: not a snapshot file", path);
+                return Optional.empty();
+            }
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                log.warn("Ignoring registry snapshot {}: format version {}, expected {}", path, version, FORMAT_VERSION);
+                return Optional.empty();
+            }
+            int length = in.readInt();
+            long checksum = in.readLong();
+            if (length < 0 || length != in.available()) {
+                log.warn("Ignoring registry snapshot {}: truncated", path);
+                return Optional.empty();
+            }
+            byte[] payload = in.readNBytes(length);
+            if (crc32(payload) != checksum) {
+                log.warn("Ignoring registry snapshot {}: checksum mismatch", path);
+                return Optional.empty();
+            }
+            try (InputStream json = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+                return Optional.of(reader.readValue(json));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring registry snapshot {}: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    void save(Map<String, ServiceCatalog> catalogs) throws IOException {
+        List<ServiceEntry> services = new ArrayList<>();
+        catalogs.forEach((serviceId, catalog) -> services.add(new ServiceEntry(serviceId, catalog.getEtag(),
+                catalog.getLastModified(), catalog.getContentHash(), new ArrayList<>(catalog.getDefinitions().values()))));
+
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        try (OutputStream json = new GZIPOutputStream(payload)) {
+            writer.writeValue(json, new Snapshot(System.currentTimeMillis(), services));
+        }
+        byte[] bytes = payload.toByteArray();
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(bytes.length);
+                out.writeLong(crc32(bytes));
+                out.write(bytes);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static long crc32(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Snapshot {
+        private long savedAt;
+        private List<ServiceEntry> services;
+    }
+
+    // Raw definitions as the service returned them, prefixed again on restore
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class ServiceEntry {
+        private String serviceId;
+        private String etag;
+        private String lastModified;
+        private String contentHash;
+        private List<JsonNode> definitions;
+    }
+}
@@ -0,0 +1,88 @@
+package com.mcp.mcpgateway.service;
+
+import java.util.function.Supplier;
+
+
+// Lets another thread abort the remote call running inside this scope, e.g. the losing attempt of a hedge
+public final class RemoteCallScope {
+
+    private static final ThreadLocal<RemoteCallScope> CURRENT = new ThreadLocal<>();
+
+    private volatile boolean cancelled;
+    private Runnable canceller;
+    // Guarded by the scope: the thread inside run, and whether cancel interrupted it
+    private Thread runner;
+    private boolean interrupted;
+
+    public static RemoteCallScope current() {
+        return CURRENT.get();
+    }
+
+    public static boolean isCurrentCancelled() {
+        RemoteCallScope scope = CURRENT.get();
+        return scope != null && scope.cancelled;
+    }
+
+    public <T> T run(Supplier<T> call) {
+        RemoteCallScope previous = CURRENT.get();
+        CURRENT.set(this);
+        synchronized (this) {
+            runner = Thread.currentThread();
+        }
+        try {
+            return call.get();
+        } finally {
+            synchronized (this) {
+                runner = null;
+                if (interrupted) {
+                    // The interrupt was meant for the call only, the thread goes on with other work
+                    Thread.interrupted();
+                    interrupted = false;
+                }
+            }
+            CURRENT.set(previous);
+        }
+    }
+
+    // For clients that only give up a pending exchange when the calling thread is interrupted (the JDK
+    // HttpClient); the thread is only interrupted while it is still inside run
+    public void interruptOnCancel() {
+        onCancel(() -> {
+            synchronized (this) {
+                if (runner != null) {
+                    interrupted = true;
+                    runner.interrupt();
+                }
+            }
+        });
+    }
+
+    // Registered by the HTTP client once the request exists
+    public void onCancel(Runnable canceller) {
+        synchronized (this) {
+            if (!cancelled) {
+                this.canceller = canceller;
+                return;
+            }
+        }
+        canceller.run();
+    }
+
+    public void cancel() {
+        Runnable toRun;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            toRun = canceller;
+        }
+        if (toRun != null) {
+            toRun.run();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
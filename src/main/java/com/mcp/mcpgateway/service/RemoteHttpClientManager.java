@@ -0,0 +1,256 @@
+package com.mcp.mcpgateway.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.ChainElement;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.mcp.mcpgateway.config.RemoteServicesConfig.HttpClientConfig;
+import com.mcp.mcpgateway.config.RemoteServicesConfig.HttpProtocol;
+import com.mcp.mcpgateway.config.RemoteServicesConfig.RemoteServiceConfig;
+import com.mcp.mcpgateway.config.TracingConfig;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Component
+public class RemoteHttpClientManager {
+
+    private static final String CONNECT_START = "mcp.connect-start";
+
+    private final Map<String, RemoteHttpClient> clients = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor deadlineScheduler;
+    private final TracingConfig tracing;
+
+    public RemoteHttpClientManager(TracingConfig tracing) {
+        this.tracing = tracing;
+        this.deadlineScheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "remote-http-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.deadlineScheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    public RestTemplate getRestTemplate(RemoteServiceConfig serviceConfig) {
+        return clients.computeIfAbsent(serviceConfig.getId(), id -> createClient(serviceConfig)).restTemplate;
+    }
+
+    public Map<String, Map<String, Object>> getPoolStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        clients.forEach((serviceId, client) -> stats.put(serviceId, client.stats()));
+        return stats;
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        for (RemoteHttpClient client : clients.values()) {
+            client.close();
+        }
+        clients.clear();
+        deadlineScheduler.shutdownNow();
+    }
+
+    private RemoteHttpClient createClient(RemoteServiceConfig serviceConfig) {
+        HttpClientConfig http = serviceConfig.getHttp() != null ? serviceConfig.getHttp() : new HttpClientConfig();
+
+        if (http.getProtocol() == HttpProtocol.HTTP_2) {
+            log.info("Creating HTTP_2 client for service {} (connectTimeout={}ms, readTimeout={}ms, totalTimeout={}ms, "
+                            + "maxConnections not applicable)", serviceConfig.getId(),
+                    http.getConnectTimeoutMs(), http.getReadTimeoutMs(), http.getTotalTimeoutMs());
+        } else {
+            log.info("Creating {} client for service {} (maxConnections={}, connectTimeout={}ms, readTimeout={}ms, totalTimeout={}ms)",
+                    http.getProtocol(), serviceConfig.getId(), http.getMaxConnections(),
+                    http.getConnectTimeoutMs(), http.getReadTimeoutMs(), http.getTotalTimeoutMs());
+        }
+
+        RemoteHttpClient client = http.getProtocol() == HttpProtocol.HTTP_2
+                ? createHttp2Client(http)
+                : createPooledClient(http, serviceConfig.resolveEndpoints().size());
+
+        client.restTemplate.getInterceptors().add((request, body, execution) -> {
+            ExecutionTrace trace = ExecutionTrace.current();
+            if (trace != null && tracing.isPropagate()) {
+                request.getHeaders().set(ExecutionTrace.TRACEPARENT, trace.childTraceparent());
+                if (trace.getTraceState() != null) {
+                    request.getHeaders().set(ExecutionTrace.TRACESTATE, trace.getTraceState());
+                }
+            }
+
+            long start = System.nanoTime();
+            try {
+                return execution.execute(request, body);
+            } finally {
+                client.requests.increment();
+                client.exchangeNanos.add(System.nanoTime() - start);
+            }
+        });
+        return client;
+    }
+
+    private RemoteHttpClient createPooledClient(HttpClientConfig http, int replicaCount) {
+        // maxConnections applies to each replica of the service
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(http.getMaxConnections() * Math.max(1, replicaCount))
+                .setMaxConnPerRoute(http.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(http.getConnectTimeoutMs()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(http.getReadTimeoutMs()))
+                        .build())
+                .build();
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(http.getConnectionRequestTimeoutMs()))
+                .setResponseTimeout(Timeout.ofMilliseconds(http.getReadTimeoutMs()))
+                .setConnectionKeepAlive(TimeValue.ofMilliseconds(http.getKeepAliveMs()))
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(http.getKeepAliveMs()))
+                .addExecInterceptorFirst("total-timeout", (request, scope, chain) -> {
+                    if (!(scope.originalRequest instanceof Cancellable cancellable)) {
+                        return chain.proceed(request, scope);
+                    }
+
+                    // Let the caller's scope abort the request, e.g. when a hedged attempt loses
+                    RemoteCallScope callScope = RemoteCallScope.current();
+                    if (callScope != null) {
+                        callScope.onCancel(cancellable::cancel);
+                    }
+
+                    // Abort the exchange (pool wait, connect and response headers) once the deadline passes. It stops
+                    // with the headers on purpose: a streamed body may run longer and is bounded per read instead
+                    ScheduledFuture<?> deadline = deadlineScheduler.schedule(
+                            cancellable::cancel, http.getTotalTimeoutMs(), TimeUnit.MILLISECONDS);
+                    try {
+                        return chain.proceed(request, scope);
+                    } finally {
+                        deadline.cancel(false);
+                    }
+                })
+                // Brackets the connection lease (and connect, if no pooled connection was idle) for sampled traces
+                .addExecInterceptorBefore(ChainElement.CONNECT.name(), "connect-timing-start", (request, scope, chain) -> {
+                    if (ExecutionTrace.isCurrentSampled()) {
+                        scope.clientContext.setAttribute(CONNECT_START, System.nanoTime());
+                    }
+                    return chain.proceed(request, scope);
+                })
+                .addExecInterceptorAfter(ChainElement.CONNECT.name(), "connect-timing-end", (request, scope, chain) -> {
+                    if (scope.clientContext.removeAttribute(CONNECT_START) instanceof Long start) {
+                        ExecutionTrace.record(ExecutionTrace.Phase.CONNECT, start);
+                    }
+                    return chain.proceed(request, scope);
+                })
+                .build();
+
+        return new RemoteHttpClient(HttpProtocol.HTTP_1_1,
+                new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient)),
+                httpClient, connectionManager);
+    }
+
+    private RemoteHttpClient createHttp2Client(HttpClientConfig http) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(http.getConnectTimeoutMs()))
+                .build();
+
+        // The JDK client's request timeout bounds the wait for the response headers, not the body. There is no
+        // pool to size: requests to a host are multiplexed over one connection, so maxConnections does not apply
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(Math.min(http.getReadTimeoutMs(), http.getTotalTimeoutMs())));
+
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add((request, body, execution) -> {
+            RemoteCallScope callScope = RemoteCallScope.current();
+            if (callScope == null) {
+                return execution.execute(request, body);
+            }
+
+            // Let the caller's scope abort the request: the JDK client gives up waiting for the response when
+            // the calling thread is interrupted, and stops a body being read (e.g. a stream) when it is closed
+            callScope.interruptOnCancel();
+            ClientHttpResponse response = execution.execute(request, body);
+            callScope.onCancel(() -> closeBody(response));
+            return response;
+        });
+        return new RemoteHttpClient(HttpProtocol.HTTP_2, restTemplate, null, null);
+    }
+
+    // Closing the response itself would first drain the body, which is what a cancelled stream must not do
+    private static void closeBody(ClientHttpResponse response) {
+        try {
+            response.getBody().close();
+        } catch (IOException e) {
+            log.debug("Could not close cancelled response: {}", e.getMessage());
+        }
+    }
+
+    private static class RemoteHttpClient {
+
+        private final HttpProtocol protocol;
+        private final RestTemplate restTemplate;
+        private final CloseableHttpClient pooledClient;
+        private final PoolingHttpClientConnectionManager connectionManager;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder exchangeNanos = new LongAdder();
+
+        RemoteHttpClient(HttpProtocol protocol, RestTemplate restTemplate,
+                         CloseableHttpClient pooledClient, PoolingHttpClientConnectionManager connectionManager) {
+            this.protocol = protocol;
+            this.restTemplate = restTemplate;
+            this.pooledClient = pooledClient;
+            this.connectionManager = connectionManager;
+        }
+
+        Map<String, Object> stats() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("protocol", protocol);
+
+            long requestCount = requests.sum();
+            stats.put("requests", requestCount);
+            stats.put("avgExchangeMs", requestCount == 0 ? 0.0 : exchangeNanos.sum() / 1_000_000.0 / requestCount);
+
+            if (connectionManager != null) {
+                PoolStats pool = connectionManager.getTotalStats();
+                stats.put("leased", pool.getLeased());
+                stats.put("pending", pool.getPending());
+                stats.put("available", pool.getAvailable());
+                stats.put("max", pool.getMax());
+            }
+            return stats;
+        }
+
+        void close() {
+            if (pooledClient != null) {
+                pooledClient.close(CloseMode.GRACEFUL);
+            }
+        }
+    }
+}
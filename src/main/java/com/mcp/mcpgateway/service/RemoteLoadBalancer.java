@@ -0,0 +1,339 @@
+package com.mcp.mcpgateway.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.mcp.mcpgateway.config.RemoteServicesConfig;
+import com.mcp.mcpgateway.config.RemoteServicesConfig.LoadBalancingConfig;
+import com.mcp.mcpgateway.config.RemoteServicesConfig.LoadBalancingStrategy;
+import com.mcp.mcpgateway.config.RemoteServicesConfig.RemoteServiceConfig;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class RemoteLoadBalancer {
+
+    private final RemoteServicesConfig config;
+    private final RemoteHttpClientManager httpClientManager;
+    private final Map<String, ReplicaSet> replicaSets = new ConcurrentHashMap<>();
+    private ScheduledExecutorService healthScheduler;
+
+    public RemoteLoadBalancer(RemoteServicesConfig config, RemoteHttpClientManager httpClientManager) {
+        this.config = config;
+        this.httpClientManager = httpClientManager;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        if (!config.isEnabled() || config.getServices() == null) {
+            return;
+        }
+
+        for (RemoteServiceConfig serviceConfig : config.getServices()) {
+            LoadBalancingConfig loadBalancing = serviceConfig.getLoadBalancing();
+            if (!serviceConfig.isEnabled() || loadBalancing == null || loadBalancing.getHealthEndpoint() == null) {
+                continue;
+            }
+
+            if (healthScheduler == null) {
+                healthScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "remote-health-probe");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            healthScheduler.scheduleWithFixedDelay(
+                    () -> probe(serviceConfig),
+                    loadBalancing.getHealthIntervalMs(),
+                    loadBalancing.getHealthIntervalMs(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        if (healthScheduler != null) {
+            healthScheduler.shutdownNow();
+        }
+    }
+
+    public int replicaCount(RemoteServiceConfig serviceConfig) {
+        return replicas(serviceConfig).replicas.size();
+    }
+
+    public Replica select(RemoteServiceConfig serviceConfig) {
+        return replicas(serviceConfig).select(Set.of());
+    }
+
+    // Picks a replica for one call, avoiding the given one when another is available
+    public Replica select(RemoteServiceConfig serviceConfig, Replica exclude) {
+        return replicas(serviceConfig).select(exclude != null ? Set.of(exclude) : Set.of());
+    }
+
+    // Picks a replica for one call, avoiding all the given ones when another is available
+    public Replica select(RemoteServiceConfig serviceConfig, Collection<Replica> excluded) {
+        return replicas(serviceConfig).select(excluded);
+    }
+
+    public Map<String, List<Map<String, Object>>> getState() {
+        Map<String, List<Map<String, Object>>> state = new LinkedHashMap<>();
+        replicaSets.forEach((serviceId, replicaSet) -> {
+            List<Map<String, Object>> replicas = new ArrayList<>();
+            for (Replica replica : replicaSet.replicas) {
+                replicas.add(replica.stats());
+            }
+            state.put(serviceId, replicas);
+        });
+        return state;
+    }
+
+    private ReplicaSet replicas(RemoteServiceConfig serviceConfig) {
+        return replicaSets.computeIfAbsent(serviceConfig.getId(), id -> new ReplicaSet(serviceConfig));
+    }
+
+    private void probe(RemoteServiceConfig serviceConfig) {
+        RestTemplate restTemplate = httpClientManager.getRestTemplate(serviceConfig);
+        for (Replica replica : replicas(serviceConfig).replicas) {
+            String url = UriComponentsBuilder
+                    .fromUriString(replica.url)
+                    .path(serviceConfig.getLoadBalancing().getHealthEndpoint())
+                    .build()
+                    .toUriString();
+
+            boolean healthy;
+            try {
+                healthy = restTemplate.getForEntity(url, String.class).getStatusCode().is2xxSuccessful();
+            } catch (Exception e) {
+                healthy = false;
+            }
+
+            if (healthy != replica.healthy) {
+                log.warn("Replica {} of service {} is now {}", replica.url, serviceConfig.getId(),
+                        healthy ? "healthy" : "unhealthy");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    private static class ReplicaSet {
+
+        // Keeps queue depth in the cost even when a latency estimate is near zero
+        private static final double COST_EPSILON_NANOS = 1_000;
+
+        private final String serviceId;
+        private final LoadBalancingConfig loadBalancing;
+        private final List<Replica> replicas = new ArrayList<>();
+        private final AtomicInteger roundRobin = new AtomicInteger();
+        private final double decayNanos;
+        private final double initialLatencyNanos;
+
+        ReplicaSet(RemoteServiceConfig serviceConfig) {
+            this.serviceId = serviceConfig.getId();
+            this.loadBalancing = serviceConfig.getLoadBalancing() != null
+                    ? serviceConfig.getLoadBalancing()
+                    : new LoadBalancingConfig();
+            this.decayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, loadBalancing.getEwmaDecayMs()));
+            this.initialLatencyNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, loadBalancing.getInitialLatencyMs()));
+            for (String url : serviceConfig.resolveEndpoints()) {
+                replicas.add(new Replica(this, url));
+            }
+            if (replicas.isEmpty()) {
+                throw new IllegalStateException("No endpoints configured for service " + serviceId);
+            }
+        }
+
+        Replica select(Collection<Replica> excluded) {
+            if (replicas.size() == 1) {
+                return replicas.get(0);
+            }
+
+            long now = System.currentTimeMillis();
+            List<Replica> candidates = new ArrayList<>(replicas.size());
+            for (Replica replica : replicas) {
+                if (!excluded.contains(replica) && replica.isAvailable(now)) {
+                    candidates.add(replica);
+                }
+            }
+
+            // Fail open: when every replica looks bad, keep trying all of them
+            if (candidates.isEmpty()) {
+                for (Replica replica : replicas) {
+                    if (!excluded.contains(replica)) {
+                        candidates.add(replica);
+                    }
+                }
+            }
+            if (candidates.isEmpty()) {
+                candidates.addAll(replicas);
+            }
+            if (candidates.size() == 1) {
+                return candidates.get(0);
+            }
+
+            if (loadBalancing.getStrategy() == LoadBalancingStrategy.ROUND_ROBIN) {
+                return candidates.get(Math.floorMod(roundRobin.getAndIncrement(), candidates.size()));
+            }
+
+            // Power of two choices
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int first = random.nextInt(candidates.size());
+            int second = random.nextInt(candidates.size() - 1);
+            if (second >= first) {
+                second++;
+            }
+            Replica a = candidates.get(first);
+            Replica b = candidates.get(second);
+            return cost(a) <= cost(b) ? a : b;
+        }
+
+        private double cost(Replica replica) {
+            int outstanding = replica.outstanding.get();
+            if (loadBalancing.getStrategy() == LoadBalancingStrategy.LEAST_OUTSTANDING) {
+                return outstanding;
+            }
+            return (replica.currentLatency(System.nanoTime()) + COST_EPSILON_NANOS) * (outstanding + 1);
+        }
+
+        // Latency a failed call is recorded with: a multiple of the slowest replica, so a replica that fails
+        // fast never looks cheaper than one that answers
+        double failurePenalty(long now) {
+            double slowest = initialLatencyNanos;
+            for (Replica replica : replicas) {
+                slowest = Math.max(slowest, replica.currentLatency(now));
+            }
+            return slowest * Math.max(1, loadBalancing.getFailurePenaltyFactor());
+        }
+
+        synchronized void onFailure(Replica replica) {
+            if (replica.consecutiveFailures.incrementAndGet() < loadBalancing.getEjectionConsecutiveFailures()) {
+                return;
+            }
+
+            long now = System.currentTimeMillis();
+            if (replica.ejectedUntil > now) {
+                return;
+            }
+
+            int ejected = 0;
+            for (Replica other : replicas) {
+                if (other.ejectedUntil > now) {
+                    ejected++;
+                }
+            }
+            if ((ejected + 1) * 100 > loadBalancing.getMaxEjectionPercent() * replicas.size()) {
+                return;
+            }
+
+            replica.ejectedUntil = now + loadBalancing.getEjectionDurationMs();
+            log.warn("Ejecting replica {} of service {} for {}ms after {} consecutive failures",
+                    replica.url, serviceId, loadBalancing.getEjectionDurationMs(), replica.consecutiveFailures.get());
+        }
+    }
+
+    public static class Replica {
+
+        private final ReplicaSet replicaSet;
+        private final String url;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private volatile double ewmaNanos;
+        private volatile long ewmaUpdatedAt = System.nanoTime();
+        private volatile long ejectedUntil;
+        private volatile boolean healthy = true;
+
+        Replica(ReplicaSet replicaSet, String url) {
+            this.replicaSet = replicaSet;
+            this.url = url;
+            this.ewmaNanos = replicaSet.initialLatencyNanos;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        // Runs a call against this replica's base url, feeding latency and failures back into selection
+        public <T> T execute(Function<String, T> call) {
+            outstanding.incrementAndGet();
+            requests.increment();
+            long start = System.nanoTime();
+            try {
+                T result = call.apply(url);
+                onSuccess(System.nanoTime() - start);
+                return result;
+            } catch (HttpClientErrorException e) {
+                // The replica answered, the request was wrong
+                onSuccess(System.nanoTime() - start);
+                throw e;
+            } catch (RuntimeException e) {
+                // Failures count as a penalty latency, fast errors must not attract traffic
+                if (!RemoteCallScope.isCurrentCancelled()) {
+                    failures.increment();
+                    long now = System.nanoTime();
+                    record(Math.max(now - start, (long) replicaSet.failurePenalty(now)), now);
+                    replicaSet.onFailure(this);
+                }
+                throw e;
+            } finally {
+                outstanding.decrementAndGet();
+            }
+        }
+
+        private void onSuccess(long nanos) {
+            consecutiveFailures.set(0);
+            record(nanos, System.nanoTime());
+        }
+
+        // Peak EWMA: jump to slower samples at once, decay towards faster ones over time
+        private synchronized void record(long nanos, long now) {
+            double current = currentLatency(now);
+            double weight = Math.exp(-(double) (now - ewmaUpdatedAt) / replicaSet.decayNanos);
+            ewmaNanos = nanos > current ? nanos : current * weight + nanos * (1 - weight);
+            ewmaUpdatedAt = now;
+        }
+
+        // The estimate fades back to the initial latency while a replica gets no traffic, so an idle or
+        // penalized replica is tried again without ever looking free
+        private double currentLatency(long now) {
+            double initial = replicaSet.initialLatencyNanos;
+            return initial + (ewmaNanos - initial) * Math.exp(-(double) (now - ewmaUpdatedAt) / replicaSet.decayNanos);
+        }
+
+        private boolean isAvailable(long now) {
+            return healthy && ejectedUntil <= now;
+        }
+
+        private Map<String, Object> stats() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("url", url);
+            stats.put("healthy", healthy);
+            stats.put("ejected", ejectedUntil > System.currentTimeMillis());
+            stats.put("outstanding", outstanding.get());
+            stats.put("ewmaLatencyMs", currentLatency(System.nanoTime()) / 1_000_000.0);
+            stats.put("requests", requests.sum());
+            stats.put("failures", failures.sum());
+            stats.put("consecutiveFailures", consecutiveFailures.get());
+            return stats;
+        }
+    }
+}
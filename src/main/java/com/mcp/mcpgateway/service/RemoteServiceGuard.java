@@ -0,0 +1,114 @@
+package com.mcp.mcpgateway.service;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import com.mcp.mcpgateway.config.ExecutionConfig;
+import com.mcp.mcpgateway.config.RemoteServicesConfig.RemoteServiceConfig;
+import com.mcp.mcpgateway.config.RemoteServicesConfig.ResilienceConfig;
+import com.mcp.mcpgateway.model.ExecutionPriority;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RemoteServiceGuard {
+
+    private final ExecutionConfig executionConfig;
+    private final Map<String, Guard> guards = new ConcurrentHashMap<>();
+
+    // The tenant and priority pick the caller's lane when it has to wait for a bulkhead permit
+    public <T> T execute(RemoteServiceConfig serviceConfig, String tenant, ExecutionPriority priority, Supplier<T> call) {
+        ResilienceConfig resilience = serviceConfig.getResilience();
+        if (resilience == null || !resilience.isEnabled()) {
+            return call.get();
+        }
+
+        // An open circuit rejects before the bulkhead, so fast failures never queue for a permit
+        Guard guard = guards.computeIfAbsent(serviceConfig.getId(), id -> createGuard(id, resilience));
+        return guard.circuitBreaker.executeSupplier(() -> guard.bulkhead.execute(tenant, priority, call));
+    }
+
+    // Bulkhead only, for calls whose duration says nothing about the backend's health (e.g. streams)
+    public <T> T executeIsolated(RemoteServiceConfig serviceConfig, String tenant, ExecutionPriority priority,
+                                 Supplier<T> call) {
+        ResilienceConfig resilience = serviceConfig.getResilience();
+        if (resilience == null || !resilience.isEnabled()) {
+            return call.get();
+        }
+
+        Guard guard = guards.computeIfAbsent(serviceConfig.getId(), id -> createGuard(id, resilience));
+        return guard.bulkhead.execute(tenant, priority, call);
+    }
+
+    public Map<String, Map<String, Object>> getState() {
+        Map<String, Map<String, Object>> state = new LinkedHashMap<>();
+        guards.forEach((serviceId, guard) -> {
+            CircuitBreaker.Metrics metrics = guard.circuitBreaker.getMetrics();
+
+            Map<String, Object> serviceState = new LinkedHashMap<>();
+            serviceState.put("state", guard.circuitBreaker.getState());
+            serviceState.put("failureRate", metrics.getFailureRate());
+            serviceState.put("slowCallRate", metrics.getSlowCallRate());
+            serviceState.put("bufferedCalls", metrics.getNumberOfBufferedCalls());
+            serviceState.put("failedCalls", metrics.getNumberOfFailedCalls());
+            serviceState.put("slowCalls", metrics.getNumberOfSlowCalls());
+            serviceState.put("notPermittedCalls", metrics.getNumberOfNotPermittedCalls());
+            serviceState.put("bulkhead", guard.bulkhead.getState());
+            state.put(serviceId, serviceState);
+        });
+        return state;
+    }
+
+    public void reset(String serviceId) {
+        Guard guard = guards.get(serviceId);
+        if (guard != null) {
+            guard.circuitBreaker.reset();
+        }
+    }
+
+    private Guard createGuard(String serviceId, ResilienceConfig resilience) {
+        CircuitBreakerConfig breakerConfig = CircuitBreakerConfig.custom()
+                .failureRateThreshold(resilience.getFailureRateThreshold())
+                .slowCallRateThreshold(resilience.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(Duration.ofMillis(resilience.getSlowCallDurationMs()))
+                .slidingWindowSize(resilience.getSlidingWindowSize())
+                .minimumNumberOfCalls(resilience.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(Duration.ofMillis(resilience.getOpenStateDurationMs()))
+                .permittedNumberOfCallsInHalfOpenState(resilience.getHalfOpenCalls())
+                .automaticTransitionFromOpenToHalfOpenEnabled(false)
+                // Caller errors and our own bulkhead rejections say nothing about the backend's health
+                .ignoreExceptions(HttpClientErrorException.class, BulkheadRejectedException.class)
+                // Nor do attempts we aborted ourselves
+                .ignoreException(e -> RemoteCallScope.isCurrentCancelled())
+                .writableStackTraceEnabled(false)
+                .build();
+
+        CircuitBreaker circuitBreaker = CircuitBreaker.of(serviceId, breakerConfig);
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("Circuit breaker of service {}: {}", serviceId, event.getStateTransition()));
+
+        return new Guard(circuitBreaker, new FairBulkhead(serviceId,
+                resilience.getMaxConcurrentCalls(), resilience.getMaxWaitMs(), executionConfig));
+    }
+
+    private static class Guard {
+
+        private final CircuitBreaker circuitBreaker;
+        private final FairBulkhead bulkhead;
+
+        Guard(CircuitBreaker circuitBreaker, FairBulkhead bulkhead) {
+            this.circuitBreaker = circuitBreaker;
+            this.bulkhead = bulkhead;
+        }
+    }
+}
@@ -1,45 +1,113 @@
 package com.mcp.mcpgateway.service;
 
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mcp.mcpgateway.config.RemoteServicesConfig;
 import com.mcp.mcpgateway.config.RemoteServicesConfig.RemoteServiceConfig;
+import com.mcp.mcpgateway.model.ExecutionPriority;
+import com.mcp.mcpgateway.model.RawJson;
+import com.mcp.mcpgateway.model.RefreshReport;
+import com.mcp.mcpgateway.model.RefreshReport.ServiceRefresh;
 import com.mcp.mcpgateway.model.Tool;
 import com.mcp.mcpgateway.model.ToolParameter;
 import com.mcp.mcpgateway.model.ToolReturn;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
 public class RemoteServiceManager {
 
     private final RemoteServicesConfig config;
-    private final RestTemplate restTemplate;
-    private final Map<String, List<Tool>> remoteToolsCache = new HashMap<>();
+    private final RemoteHttpClientManager httpClientManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RemoteServiceGuard serviceGuard;
+    private final RemoteLoadBalancer loadBalancer;
+    private final RemoteToolInvoker toolInvoker;
+    private final GatewayMetrics metrics;
+    private final ObjectMapper objectMapper;
+    private final Map<String, ServiceCatalog> remoteToolsCache = new ConcurrentHashMap<>();
+    private final AtomicReference<CompletableFuture<RefreshReport>> inFlightRefresh = new AtomicReference<>();
+    private final AtomicInteger discoveryThreadCount = new AtomicInteger();
+    private final RegistrySnapshotStore snapshotStore;
+    private final Map<String, ServicePoll> servicePolls = new ConcurrentHashMap<>();
+    private volatile boolean restoredFromSnapshot;
     private ScheduledExecutorService scheduler;
+    private ScheduledExecutorService deadlineScheduler;
+    private ExecutorService discoveryExecutor;
 
-    public RemoteServiceManager(RemoteServicesConfig config) {
+    public RemoteServiceManager(RemoteServicesConfig config, RemoteHttpClientManager httpClientManager,
+                                ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper,
+                                RemoteServiceGuard serviceGuard, RemoteLoadBalancer loadBalancer,
+                                RemoteToolInvoker toolInvoker, GatewayMetrics metrics) {
         this.config = config;
-        this.restTemplate = new RestTemplate();
+        this.httpClientManager = httpClientManager;
+        this.eventPublisher = eventPublisher;
+        this.serviceGuard = serviceGuard;
+        this.loadBalancer = loadBalancer;
+        this.toolInvoker = toolInvoker;
+        this.metrics = metrics;
+        this.objectMapper = objectMapper;
+        this.snapshotStore = config.getSnapshot().isEnabled()
+                ? new RegistrySnapshotStore(Path.of(config.getSnapshot().getPath()), objectMapper)
+                : null;
     }
 
     @PostConstruct
@@ -52,14 +120,34 @@ public class RemoteServiceManager {
         log.info("Initializing remote service manager with {} services",
                 config.getServices() != null ? config.getServices().size() : 0);
 
-        refreshRemoteTools();
-
+        discoveryExecutor = Executors.newFixedThreadPool(config.getDiscoveryParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "remote-discovery-" + discoveryThreadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        deadlineScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "remote-discovery-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Every service is polled on its own jittered timer, re-armed whenever the service was refreshed
         scheduler = Executors.newScheduledThreadPool(1);
-        scheduler.scheduleAtFixedRate(
-                this::refreshRemoteTools,
-                config.getRefreshIntervalMs(),
-                config.getRefreshIntervalMs(),
-                TimeUnit.MILLISECONDS);
+        if (config.getServices() != null) {
+            for (RemoteServiceConfig serviceConfig : config.getServices()) {
+                if (serviceConfig.isEnabled()) {
+                    servicePolls.put(serviceConfig.getId(), new ServicePoll(serviceConfig));
+                }
+            }
+        }
+
+        // With the last known catalogs the first refresh runs once the application is ready, a cold start waits for it
+        restoredFromSnapshot = restoreSnapshot();
+        if (restoredFromSnapshot) {
+            servicePolls.values().forEach(this::schedulePoll);
+        } else {
+            refreshRemoteTools();
+        }
     }
 
     @PreDestroy
@@ -67,74 +155,495 @@ public class RemoteServiceManager {
         if (scheduler != null) {
             scheduler.shutdown();
         }
+        if (discoveryExecutor != null) {
+            discoveryExecutor.shutdownNow();
+        }
+        if (deadlineScheduler != null) {
+            deadlineScheduler.shutdownNow();
+        }
     }
 
-    public synchronized void refreshRemoteTools() {
-        log.debug("Refreshing remote tools");
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        // Listeners of the refresh event are only registered by now, so the registry sees its outcome
+        if (restoredFromSnapshot) {
+            scheduler.execute(this::scheduledRefresh);
+        }
+    }
 
-        if (!config.isEnabled() || config.getServices() == null) {
-            return;
+    private boolean restoreSnapshot() {
+        if (snapshotStore == null) {
+            return false;
         }
 
-        for (RemoteServiceConfig serviceConfig : config.getServices()) {
-            if (!serviceConfig.isEnabled()) {
-                log.debug("Skipping disabled service: {}", serviceConfig.getId());
+        long start = System.nanoTime();
+        RegistrySnapshotStore.Snapshot snapshot = snapshotStore.load().orElse(null);
+        if (snapshot == null || snapshot.getServices() == null) {
+            return false;
+        }
+
+        int toolCount = 0;
+        for (RegistrySnapshotStore.ServiceEntry entry : snapshot.getServices()) {
+            // Services removed or disabled since the snapshot was taken are left out
+            RemoteServiceConfig serviceConfig = findServiceById(entry.getServiceId());
+            if (serviceConfig == null || !serviceConfig.isEnabled()) {
                 continue;
             }
-
             try {
-                List<Tool> tools = fetchToolsFromService(serviceConfig);
-                remoteToolsCache.put(serviceConfig.getId(), tools);
-                log.info("Fetched {} tools from service {}", tools.size(), serviceConfig.getId());
-                
-                // Log details of registered tools
-                for (Tool tool : tools) {
-                    log.debug("Registered tool: ID={}, Name={}", serviceConfig.getId(), tool.getName());
+                ServiceCatalog catalog = restoreCatalog(entry, serviceConfig);
+                remoteToolsCache.put(serviceConfig.getId(), catalog);
+                toolCount += catalog.getTools().size();
+            } catch (RuntimeException e) {
+                log.warn("Skipping snapshot of service {}: {}", entry.getServiceId(), e.getMessage());
+            }
+        }
+
+        log.info("Restored {} tools of {} services from {} (saved {}) in {}ms",
+                toolCount, remoteToolsCache.size(), snapshotStore.getPath(),
+                Instant.ofEpochMilli(snapshot.getSavedAt()),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return !remoteToolsCache.isEmpty();
+    }
+
+    private ServiceCatalog restoreCatalog(RegistrySnapshotStore.ServiceEntry entry, RemoteServiceConfig serviceConfig) {
+        Map<String, JsonNode> definitions = new LinkedHashMap<>();
+        Map<String, Tool> tools = new LinkedHashMap<>();
+        if (entry.getDefinitions() != null) {
+            for (JsonNode definition : entry.getDefinitions()) {
+                String name = definition.path("name").asText();
+                definitions.put(name, definition);
+                tools.put(name, createPrefixedCopy(toTool(definition), serviceConfig));
+            }
+        }
+        return new ServiceCatalog(entry.getEtag(), entry.getLastModified(), entry.getContentHash(), definitions, tools);
+    }
+
+    private synchronized void saveSnapshot() {
+        if (snapshotStore == null) {
+            return;
+        }
+        try {
+            snapshotStore.save(new LinkedHashMap<>(remoteToolsCache));
+            log.debug("Saved registry snapshot to {}", snapshotStore.getPath());
+        } catch (IOException | RuntimeException e) {
+            // The running gateway is unaffected, only the next start is cold
+            log.warn("Could not save registry snapshot to {}: {}", snapshotStore.getPath(), e.getMessage());
+        }
+    }
+
+    // Refreshes a single service, as announced by the service itself or due by its timer
+    public CompletableFuture<ServiceRefresh> refreshService(String serviceId) {
+        ServicePoll poll = servicePolls.get(serviceId);
+        if (poll == null) {
+            throw new IllegalArgumentException("Service not found: " + serviceId);
+        }
+        return requestRefresh(poll, true);
+    }
+
+    // All fetches of a service go through here, one at a time, so a slower fetch never overwrites the catalog a
+    // newer one installed. Requests made while the service is being fetched are folded into one more fetch after
+    // it. A notifying fetch saves the snapshot and announces its result itself; the full refresh does that once
+    // for all services instead.
+    private CompletableFuture<ServiceRefresh> requestRefresh(ServicePoll poll, boolean notify) {
+        CompletableFuture<ServiceRefresh> result;
+        boolean start = false;
+        synchronized (poll) {
+            if (poll.running == null) {
+                poll.running = new CompletableFuture<>();
+                poll.runningNotifies = notify;
+                result = poll.running;
+                start = true;
+            } else {
+                if (poll.queued == null) {
+                    poll.queued = new CompletableFuture<>();
                 }
-            } catch (Exception e) {
-                log.error("Failed to fetch tools from service {}: {}",
-                        serviceConfig.getId(), e.getMessage(), e);
+                poll.queuedNotifies |= notify;
+                result = poll.queued;
             }
         }
+        if (start) {
+            startServiceRefresh(poll, result);
+        }
+        return result;
     }
 
-    private List<Tool> fetchToolsFromService(RemoteServiceConfig serviceConfig) {
+    private void startServiceRefresh(ServicePoll poll, CompletableFuture<ServiceRefresh> result) {
+        if (poll.timer != null) {
+            poll.timer.cancel(false);
+        }
+
+        DiscoveryFetch fetch;
         try {
-            String url = UriComponentsBuilder
-                    .fromUriString(serviceConfig.getUrl())
-                    .path(serviceConfig.getToolsEndpoint())
-                    .build()
-                    .toUriString();
+            fetch = startFetch(poll.serviceConfig);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            result.completeExceptionally(e);
+            return;
+        }
+        fetch.future.whenComplete((ignored, error) -> finishServiceRefresh(poll, fetch, result));
+    }
+
+    private void finishServiceRefresh(ServicePoll poll, DiscoveryFetch fetch, CompletableFuture<ServiceRefresh> result) {
+        try {
+            ServiceRefresh refresh = collectResult(fetch);
+            boolean notify;
+            synchronized (poll) {
+                notify = poll.runningNotifies;
+                if (!notify) {
+                    result.complete(refresh);
+                }
+            }
+            if (notify) {
+                boolean changed = refresh.getStatus() == RefreshReport.Status.UPDATED;
+                if (changed) {
+                    saveSnapshot();
+                }
+                eventPublisher.publishEvent(new RemoteToolsRefreshedEvent(RefreshReport.builder()
+                        .durationMs(refresh.getDurationMs())
+                        .toolCount(getAllRemoteTools().size())
+                        .changed(changed)
+                        .services(List.of(refresh))
+                        .build(), RemoteToolsRefreshedEvent.Scope.SERVICE));
+                result.complete(refresh);
+            }
+        } catch (RuntimeException e) {
+            log.error("Refresh of service {} failed: {}", poll.serviceConfig.getId(), e.getMessage(), e);
+            result.completeExceptionally(e);
+        }
+
+        CompletableFuture<ServiceRefresh> next;
+        synchronized (poll) {
+            next = poll.queued;
+            poll.running = next;
+            poll.runningNotifies = poll.queuedNotifies;
+            poll.queued = null;
+            poll.queuedNotifies = false;
+        }
+        if (next != null) {
+            startServiceRefresh(poll, next);
+        } else {
+            schedulePoll(poll);
+        }
+    }
+
+    private void schedulePoll(ServicePoll poll) {
+        long interval = config.refreshIntervalOf(poll.serviceConfig);
+        double jitter = Math.max(0, Math.min(1, config.getRefreshJitter()));
+        long delay = Math.max(1, (long) (interval * (1 + jitter * ThreadLocalRandom.current().nextDouble(-1, 1))));
+        try {
+            ScheduledFuture<?> previous = poll.timer;
+            poll.timer = scheduler.schedule(() -> requestRefresh(poll, true), delay, TimeUnit.MILLISECONDS);
+            if (previous != null) {
+                previous.cancel(false);
+            }
+        } catch (RejectedExecutionException e) {
+            log.debug("Not polling service {} any more, shutting down", poll.serviceConfig.getId());
+        }
+    }
+
+    private void scheduledRefresh() {
+        try {
+            refreshRemoteTools();
+        } catch (Exception e) {
+            log.error("Scheduled refresh of remote tools failed: {}", e.getMessage(), e);
+        }
+    }
+
+    public RefreshReport refreshRemoteTools() {
+        // Concurrent callers (scheduler, admin endpoint) share the refresh that is already running
+        CompletableFuture<RefreshReport> refresh = new CompletableFuture<>();
+        CompletableFuture<RefreshReport> running = inFlightRefresh.compareAndExchange(null, refresh);
+        if (running != null) {
+            log.debug("Refresh already in progress, waiting for it");
+            return running.join();
+        }
+
+        try {
+            RefreshReport report = doRefresh();
+            if (report.isChanged()) {
+                saveSnapshot();
+            }
+            refresh.complete(report);
+            eventPublisher.publishEvent(new RemoteToolsRefreshedEvent(report, RemoteToolsRefreshedEvent.Scope.ALL));
+        } catch (RuntimeException e) {
+            refresh.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRefresh.set(null);
+        }
+        return refresh.join();
+    }
+
+    private RefreshReport doRefresh() {
+        log.debug("Refreshing remote tools");
+
+        if (!config.isEnabled() || servicePolls.isEmpty() || discoveryExecutor == null) {
+            return RefreshReport.builder().services(Collections.emptyList()).build();
+        }
+
+        long refreshStart = System.nanoTime();
+        Map<ServicePoll, CompletableFuture<ServiceRefresh>> refreshes = new LinkedHashMap<>();
+        for (ServicePoll poll : servicePolls.values()) {
+            refreshes.put(poll, requestRefresh(poll, false));
+        }
+
+        try {
+            CompletableFuture.allOf(refreshes.values().toArray(new CompletableFuture<?>[0]))
+                    .get(config.getRefreshTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Individual outcomes are collected below
+        }
+
+        List<ServiceRefresh> results = new ArrayList<>();
+        refreshes.forEach((poll, refresh) -> results.add(refreshResult(poll, refresh)));
+
+        RefreshReport report = RefreshReport.builder()
+                .durationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - refreshStart))
+                .toolCount(getAllRemoteTools().size())
+                .changed(results.stream().anyMatch(result -> result.getStatus() == RefreshReport.Status.UPDATED))
+                .services(results)
+                .build();
+
+        log.info("Remote tools refreshed in {}ms: {} tools from {} services",
+                report.getDurationMs(), report.getToolCount(), results.size());
+        return report;
+    }
+
+    private DiscoveryFetch startFetch(RemoteServiceConfig serviceConfig) {
+        DiscoveryFetch fetch = new DiscoveryFetch(serviceConfig);
+        fetch.future = CompletableFuture.supplyAsync(() -> fetchService(fetch), discoveryExecutor);
+        return fetch;
+    }
+
+    // The deadline starts when a discovery thread picks the fetch up, and aborts the HTTP request itself, so a hung
+    // service does not keep the thread past it
+    private ServiceFetch fetchService(DiscoveryFetch fetch) {
+        RemoteServiceConfig serviceConfig = fetch.serviceConfig;
+        fetch.startNanos = System.nanoTime();
+        ScheduledFuture<?> deadline = deadlineScheduler.schedule(
+                fetch.scope::cancel, config.getDiscoveryTimeoutMs(), TimeUnit.MILLISECONDS);
+        try {
+            ServiceCatalog previous = remoteToolsCache.getOrDefault(serviceConfig.getId(), ServiceCatalog.EMPTY);
+            ServiceFetch result = fetch.scope.run(() -> fetchToolsFromService(serviceConfig, previous));
+            result.durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - fetch.startNanos);
+            return result;
+        } catch (RuntimeException e) {
+            if (fetch.scope.isCancelled()) {
+                throw new CompletionException(new TimeoutException("Discovery deadline exceeded"));
+            }
+            throw e;
+        } finally {
+            deadline.cancel(false);
+        }
+    }
+
+    private ServiceRefresh refreshResult(ServicePoll poll, CompletableFuture<ServiceRefresh> refresh) {
+        String serviceId = poll.serviceConfig.getId();
+        synchronized (poll) {
+            // Still waiting for a discovery thread or its deadline: the fetch announces its own result when it ends
+            if (poll.running == refresh && !refresh.isDone()) {
+                poll.runningNotifies = true;
+            } else if (poll.queued == refresh) {
+                poll.queuedNotifies = true;
+            }
+        }
+        if (refresh.isDone() && !refresh.isCompletedExceptionally()) {
+            return refresh.join();
+        }
+
+        RefreshReport.Status status = RefreshReport.Status.TIMEOUT;
+        String error = "Refresh deadline exceeded";
+        if (refresh.isDone()) {
+            status = RefreshReport.Status.FAILED;
+            error = unwrap(refresh).getMessage();
+        }
+
+        int lastKnown = remoteToolsCache.getOrDefault(serviceId, ServiceCatalog.EMPTY).getTools().size();
+        log.warn("Refresh of service {} {}: {}. Keeping {} last known tools", serviceId, status, error, lastKnown);
+        return ServiceRefresh.builder()
+                .serviceId(serviceId)
+                .status(status)
+                .toolCount(lastKnown)
+                .error(error)
+                .build();
+    }
+
+    // Only called by the fetch's own refresh, once the fetch is done
+    private ServiceRefresh collectResult(DiscoveryFetch fetch) {
+        RemoteServiceConfig serviceConfig = fetch.serviceConfig;
+        if (!fetch.future.isCompletedExceptionally()) {
+            ServiceFetch result = fetch.future.join();
+            remoteToolsCache.put(serviceConfig.getId(), result.catalog);
+
+            if (result.changed) {
+                log.info("Fetched {} tools from service {} in {}ms ({} added, {} modified, {} removed)",
+                        result.catalog.getTools().size(), serviceConfig.getId(), result.durationMs,
+                        result.added, result.modified, result.removed);
+            } else {
+                log.debug("Tools of service {} unchanged ({}ms)", serviceConfig.getId(), result.durationMs);
+            }
+
+            return ServiceRefresh.builder()
+                    .serviceId(serviceConfig.getId())
+                    .status(result.changed ? RefreshReport.Status.UPDATED : RefreshReport.Status.UNCHANGED)
+                    .toolCount(result.catalog.getTools().size())
+                    .added(result.added)
+                    .modified(result.modified)
+                    .removed(result.removed)
+                    .durationMs(result.durationMs)
+                    .build();
+        }
+
+        // The service keeps its last known tools when discovery fails or misses its deadline
+        RefreshReport.Status status = RefreshReport.Status.TIMEOUT;
+        String error = "Discovery deadline exceeded";
+        Throwable cause = unwrap(fetch.future);
+        if (!(cause instanceof TimeoutException)) {
+            status = RefreshReport.Status.FAILED;
+            error = cause.getMessage();
+        }
+
+        List<Tool> lastKnown = remoteToolsCache.getOrDefault(serviceConfig.getId(), ServiceCatalog.EMPTY).getTools();
+        log.warn("Refresh of service {} {}: {}. Keeping {} last known tools",
+                serviceConfig.getId(), status, error, lastKnown.size());
+
+        return ServiceRefresh.builder()
+                .serviceId(serviceConfig.getId())
+                .status(status)
+                .toolCount(lastKnown.size())
+                .durationMs(fetch.startNanos == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - fetch.startNanos))
+                .error(error)
+                .build();
+    }
+
+    private Throwable unwrap(CompletableFuture<?> future) {
+        try {
+            future.join();
+            return null;
+        } catch (CompletionException | CancellationException e) {
+            return e.getCause() != null ? e.getCause() : e;
+        }
+    }
+
+    private ServiceFetch fetchToolsFromService(RemoteServiceConfig serviceConfig, ServiceCatalog previous) {
+        // Conditional request, so unchanged catalogs are answered with 304 and no body
+        HttpHeaders httpHeaders = new HttpHeaders();
+        if (previous.getEtag() != null) {
+            httpHeaders.set(HttpHeaders.IF_NONE_MATCH, previous.getEtag());
+        }
+        if (previous.getLastModified() != null) {
+            httpHeaders.set(HttpHeaders.IF_MODIFIED_SINCE, previous.getLastModified());
+        }
+
+        RestTemplate restTemplate = httpClientManager.getRestTemplate(serviceConfig);
+        ResponseEntity<byte[]> response = null;
+        RemoteLoadBalancer.Replica replica = null;
+        List<RemoteLoadBalancer.Replica> attempted = new ArrayList<>();
 
-            log.debug("Fetching tools from URL: {}", url);
+        // Discovery is a safe GET, so a failing replica is retried on the next one
+        int attempts = serviceConfig.resolveEndpoints().size();
+        for (int attempt = 1; response == null; attempt++) {
+            replica = loadBalancer.select(serviceConfig, attempted);
+            attempted.add(replica);
+            try {
+                response = replica.execute(baseUrl -> {
+                    String url = UriComponentsBuilder
+                            .fromUriString(baseUrl)
+                            .path(serviceConfig.getToolsEndpoint())
+                            .build()
+                            .toUriString();
+
+                    log.debug("Fetching tools from URL: {}", url);
+
+                    return restTemplate.exchange(
+                            url,
+                            HttpMethod.GET,
+                            new HttpEntity<>(httpHeaders),
+                            byte[].class);
+                });
+            } catch (RestClientException e) {
+                if (attempt >= attempts || RemoteCallScope.isCurrentCancelled()) {
+                    throw e;
+                }
+                log.debug("Fetching tools from {} failed, trying another replica: {}", replica.getUrl(), e.getMessage());
+            }
+        }
 
-            ResponseEntity<List<Tool>> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    null,
-                    new ParameterizedTypeReference<List<Tool>>() {
-                    });
+        String etag = response.getHeaders().getETag();
+        String lastModified = response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            return ServiceFetch.unchanged(previous);
+        }
+
+        byte[] body = response.getBody() != null ? response.getBody() : new byte[0];
+
+        // Fallback for services that ignore conditional requests
+        String contentHash = DigestUtils.md5DigestAsHex(body);
+        if (contentHash.equals(previous.getContentHash())) {
+            return ServiceFetch.unchanged(previous.withValidators(etag, lastModified));
+        }
+
+        JsonNode definitions = readTree(body);
+        if (!definitions.isArray()) {
+            throw new IllegalStateException("Tools endpoint of service " + serviceConfig.getId() + " did not return a list");
+        }
 
-            List<Tool> tools = response.getBody();
-            if (tools == null) {
-                return Collections.emptyList();
+        // Only tools whose definition changed are deserialized and copied again
+        ServiceFetch fetch = new ServiceFetch();
+        Map<String, JsonNode> currentDefinitions = new LinkedHashMap<>();
+        Map<String, Tool> currentTools = new LinkedHashMap<>();
+        for (JsonNode definition : definitions) {
+            String name = definition.path("name").asText();
+            JsonNode previousDefinition = previous.getDefinitions().get(name);
+
+            Tool prefixedTool;
+            if (definition.equals(previousDefinition)) {
+                prefixedTool = previous.getToolsByOriginalName().get(name);
+            } else {
+                prefixedTool = createPrefixedCopy(toTool(definition), serviceConfig);
+                if (previousDefinition == null) {
+                    fetch.added++;
+                } else {
+                    fetch.modified++;
+                }
+                log.debug("Registered tool: ID={}, Name={}", serviceConfig.getId(), prefixedTool.getName());
             }
+            currentDefinitions.put(name, definition);
+            currentTools.put(name, prefixedTool);
+        }
 
-            List<Tool> processedTools = new ArrayList<>();
-            for (Tool tool : tools) {
-                Tool prefixedTool = createPrefixedCopy(tool, serviceConfig);
-                processedTools.add(prefixedTool);
+        for (String name : previous.getDefinitions().keySet()) {
+            if (!currentDefinitions.containsKey(name)) {
+                fetch.removed++;
             }
+        }
+
+        fetch.catalog = new ServiceCatalog(etag, lastModified, contentHash, currentDefinitions, currentTools);
+        fetch.changed = fetch.added > 0 || fetch.modified > 0 || fetch.removed > 0;
+        return fetch;
+    }
+
+    private JsonNode readTree(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Invalid tools response: " + e.getMessage(), e);
+        }
+    }
 
-            return processedTools;
-        } catch (RestClientException e) {
-            log.error("Error fetching tools from service {}: {}",
-                    serviceConfig.getId(), e.getMessage(), e);
-            return Collections.emptyList();
+    private Tool toTool(JsonNode definition) {
+        try {
+            return objectMapper.treeToValue(definition, Tool.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid tool definition: " + e.getOriginalMessage(), e);
         }
     }
 
-    private Tool createPrefixedCopy(Tool tool, RemoteServiceConfig serviceConfig) {
+    // Package-private for the benchmarks
+    static Tool createPrefixedCopy(Tool tool, RemoteServiceConfig serviceConfig) {
         Tool prefixedTool = new Tool();
         prefixedTool.setName(serviceConfig.getId() + "." + tool.getName());
         prefixedTool.setDescription(tool.getDescription());
@@ -159,43 +668,30 @@ public class RemoteServiceManager {
         List<Tool> allTools = new ArrayList<>();
 
         // Collect tools from each enabled service
-        for (String serviceId : remoteToolsCache.keySet()) {
-            List<Tool> serviceTools = remoteToolsCache.get(serviceId);
-            allTools.addAll(serviceTools);
+        for (ServiceCatalog catalog : remoteToolsCache.values()) {
+            allTools.addAll(catalog.getTools());
         }
 
         return allTools;
     }
 
     public Object executeRemoteTool(String serviceId, String toolName, Map<String, Object> parameters) {
+        return executeRemoteTool(serviceId, toolName, parameters, Collections.emptyMap(), null, null);
+    }
+
+    // The tenant and priority of the call order it among the callers waiting for the service's bulkhead
+    public Object executeRemoteTool(String serviceId, String toolName, Map<String, Object> parameters,
+                                    Map<String, Object> toolMetadata, String tenant, ExecutionPriority priority) {
         // Find the service configuration
         RemoteServiceConfig serviceConfig = findServiceById(serviceId);
         if (serviceConfig == null) {
             throw new IllegalArgumentException("Service not found: " + serviceId);
         }
         
-        // Determine which name format to use based on the endpoint pattern
-        String nameToUse = toolName;
-        
-        // If endpoint contains {tool} (placeholder format), use the original tool name without prefix
-        if (serviceConfig.getExecutionEndpoint().contains("{tool}")) {
-            // Extract original tool name without service prefix if needed
-            if (toolName.startsWith(serviceId + ".")) {
-                nameToUse = toolName.substring((serviceId + ".").length());
-                log.debug("Using original tool name without prefix: {}", nameToUse);
-            }
-        }
-        
-        // Build the URL for execution - Replace {tool} placeholder with appropriate tool name
+        String nameToUse = executionName(serviceConfig, toolName);
         String executionEndpoint = serviceConfig.getExecutionEndpoint().replace("{tool}", nameToUse);
         
-        String url = UriComponentsBuilder
-                .fromUriString(serviceConfig.getUrl())
-                .path(executionEndpoint)
-                .build()
-                .toUriString();
-        
-        log.debug("Executing remote tool at URL: {}", url);
+        log.debug("Executing remote tool at endpoint: {}", executionEndpoint);
         log.debug("Using parameters: {}", parameters);
         
         // Create headers
@@ -203,23 +699,205 @@ public class RemoteServiceManager {
         httpHeaders.add("Content-Type", "application/json");
         httpHeaders.add("Accept", "application/json");
         
+        long start = metrics.remoteStarted(serviceId);
+        String code = "ERROR";
         try {
             // Execute the request
             HttpEntity<Map<String, Object>> entity = new HttpEntity<>(parameters, httpHeaders);
-            ResponseEntity<Object> response = restTemplate.postForEntity(url, entity, Object.class);
-            return response.getBody();
+            RestTemplate restTemplate = httpClientManager.getRestTemplate(serviceConfig);
+            // Pass-through keeps the body as received instead of deserializing it into maps
+            Class<?> bodyType = serviceConfig.isPassThrough() ? byte[].class : Object.class;
+            ResponseEntity<?> response = toolInvoker.invoke(serviceConfig, nameToUse, toolMetadata, tenant, priority, baseUrl -> {
+                String url = UriComponentsBuilder
+                        .fromUriString(baseUrl)
+                        .path(executionEndpoint)
+                        .build()
+                        .toUriString();
+                return restTemplate.postForEntity(url, entity, bodyType);
+            });
+            code = "OK";
+            return response.getBody() instanceof byte[] body
+                    ? passThroughBody(response.getHeaders().getContentType(), body)
+                    : response.getBody();
+        } catch (CallNotPermittedException | BulkheadRejectedException e) {
+            // Fail fast without a stack trace, the service is known to be unhealthy or saturated
+            log.debug("Remote service {} rejected the call: {}", serviceId, e.getMessage());
+            code = e instanceof CallNotPermittedException ? "CIRCUIT_OPEN" : "BULKHEAD_FULL";
+            return errorResponse(code, e.getMessage());
         } catch (Exception e) {
             log.error("Error executing remote service: {}", e.getMessage(), e);
-            
-            // In case of error, create a generic error response
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("status", "FAILED");
-            errorResponse.put("error", e.getMessage());
-            errorResponse.put("timestamp", System.currentTimeMillis());
-            return errorResponse;
+            code = failureCode(e);
+            return errorResponse(null, e.getMessage());
+        } finally {
+            ExecutionTrace.record(ExecutionTrace.Phase.REMOTE, start);
+            metrics.remoteFinished(serviceId, code, start);
+        }
+    }
+
+    // Status class or kind of I/O failure, never the message, so the metric tags stay bounded
+    private static String failureCode(Exception e) {
+        if (e instanceof HttpStatusCodeException status) {
+            return "HTTP_" + status.getStatusCode().value() / 100 + "XX";
+        }
+        if (e instanceof ResourceAccessException) {
+            return e.getCause() instanceof SocketTimeoutException ? "TIMEOUT" : "IO_ERROR";
+        }
+        return "ERROR";
+    }
+
+    // Relays the chunks of a streamed response (SSE or NDJSON) as they are read. Returns the body of a
+    // plain JSON response, or null once a stream ended. Runs on the calling thread, so a slow consumer
+    // slows down the reads from the remote service.
+    public Object streamRemoteTool(String serviceId, String toolName, Map<String, Object> parameters,
+                                   String tenant, ExecutionPriority priority, BiConsumer<String, Object> onChunk) {
+        RemoteServiceConfig serviceConfig = findServiceById(serviceId);
+        if (serviceConfig == null) {
+            throw new IllegalArgumentException("Service not found: " + serviceId);
+        }
+
+        String executionEndpoint = serviceConfig.getExecutionEndpoint()
+                .replace("{tool}", executionName(serviceConfig, toolName));
+
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setContentType(MediaType.APPLICATION_JSON);
+        httpHeaders.setAccept(List.of(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+
+        RestTemplate restTemplate = httpClientManager.getRestTemplate(serviceConfig);
+        RequestCallback requestCallback = restTemplate.httpEntityCallback(new HttpEntity<>(parameters, httpHeaders));
+
+        // Streams hold a bulkhead permit but bypass the breaker
+        return serviceGuard.executeIsolated(serviceConfig, tenant, priority, () -> loadBalancer.select(serviceConfig).execute(baseUrl -> {
+            String url = UriComponentsBuilder
+                    .fromUriString(baseUrl)
+                    .path(executionEndpoint)
+                    .build()
+                    .toUriString();
+            return restTemplate.execute(url, HttpMethod.POST, requestCallback, response -> {
+                MediaType contentType = response.getHeaders().getContentType();
+                if (contentType != null && MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType)) {
+                    readEventStream(response.getBody(), onChunk);
+                    return null;
+                }
+                if (contentType != null && MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+                    readLines(response.getBody(), line -> onChunk.accept("chunk", chunkData(line)));
+                    return null;
+                }
+                // A plain response is returned like executeRemoteTool does: as received only for pass-through services
+                byte[] body = StreamUtils.copyToByteArray(response.getBody());
+                if (serviceConfig.isPassThrough()) {
+                    return passThroughBody(contentType, body);
+                }
+                return body.length == 0 ? null : objectMapper.readValue(body, Object.class);
+            });
+        }));
+    }
+
+    private void readEventStream(InputStream body, BiConsumer<String, Object> onChunk) throws IOException {
+        String[] event = {null};
+        StringBuilder data = new StringBuilder();
+        readLines(body, line -> {
+            if (line.isEmpty()) {
+                // A blank line dispatches the event
+                if (data.length() > 0) {
+                    onChunk.accept(event[0] != null ? event[0] : "chunk", chunkData(data.toString()));
+                }
+                event[0] = null;
+                data.setLength(0);
+            } else if (line.startsWith("data:")) {
+                if (data.length() > 0) {
+                    data.append('\n');
+                }
+                data.append(line.substring(line.startsWith("data: ") ? 6 : 5));
+            } else if (line.startsWith("event:")) {
+                event[0] = line.substring(6).trim();
+            }
+            // Comments, ids and retry hints are not relayed
+        });
+    }
+
+    private void readLines(InputStream body, Consumer<String> onLine) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            onLine.accept(line);
         }
     }
 
+    private Object chunkData(String text) {
+        if (text.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(text);
+        } catch (JsonProcessingException e) {
+            return text;
+        }
+    }
+
+    private String executionName(RemoteServiceConfig serviceConfig, String toolName) {
+        // Determine which name format to use based on the endpoint pattern
+        String nameToUse = toolName;
+        
+        // If endpoint contains {tool} (placeholder format), use the original tool name without prefix
+        if (serviceConfig.getExecutionEndpoint().contains("{tool}")) {
+            // Extract original tool name without service prefix if needed
+            if (toolName.startsWith(serviceConfig.getId() + ".")) {
+                nameToUse = toolName.substring((serviceConfig.getId() + ".").length());
+                log.debug("Using original tool name without prefix: {}", nameToUse);
+            }
+        }
+        return nameToUse;
+    }
+
+    private Object passThroughBody(MediaType contentType, byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+
+        boolean json = contentType != null
+                && (MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                || (contentType.getSubtype() != null && contentType.getSubtype().endsWith("+json")));
+        if (!json || !isWellFormedJson(body)) {
+            // Embedding it as-is would break the response, so it is returned as text
+            Charset charset = contentType != null && contentType.getCharset() != null
+                    ? contentType.getCharset()
+                    : StandardCharsets.UTF_8;
+            return new String(body, charset);
+        }
+        return RawJson.of(body);
+    }
+
+    // One complete JSON value and nothing after it; the parser skims the tokens without building a tree
+    private boolean isWellFormedJson(byte[] body) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() == null) {
+                return false;
+            }
+            parser.skipChildren();
+            return parser.nextToken() == null;
+        } catch (IOException e) {
+            log.debug("Remote result is not well-formed JSON: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // Failed remote calls are reported as a result map, see errorResponse
+    public static boolean isErrorResponse(Object result) {
+        return result instanceof Map<?, ?> map && "FAILED".equals(map.get("status")) && map.containsKey("timestamp");
+    }
+
+    private Map<String, Object> errorResponse(String reason, String message) {
+        // In case of error, create a generic error response
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("status", "FAILED");
+        if (reason != null) {
+            errorResponse.put("reason", reason);
+        }
+        errorResponse.put("error", message);
+        errorResponse.put("timestamp", System.currentTimeMillis());
+        return errorResponse;
+    }
+
     private RemoteServiceConfig findServiceById(String serviceId) {
         if (config.getServices() == null) {
             return null;
@@ -233,4 +911,47 @@ public class RemoteServiceManager {
 
         return null;
     }
-} 
\ No newline at end of file
+
+    private static class ServicePoll {
+
+        private final RemoteServiceConfig serviceConfig;
+        private volatile ScheduledFuture<?> timer;
+        // Guarded by the poll itself
+        private CompletableFuture<ServiceRefresh> running;
+        private boolean runningNotifies;
+        private CompletableFuture<ServiceRefresh> queued;
+        private boolean queuedNotifies;
+
+        ServicePoll(RemoteServiceConfig serviceConfig) {
+            this.serviceConfig = serviceConfig;
+        }
+    }
+
+    private static class DiscoveryFetch {
+
+        private final RemoteServiceConfig serviceConfig;
+        private final RemoteCallScope scope = new RemoteCallScope();
+        private volatile long startNanos;
+        private CompletableFuture<ServiceFetch> future;
+
+        DiscoveryFetch(RemoteServiceConfig serviceConfig) {
+            this.serviceConfig = serviceConfig;
+        }
+    }
+
+    private static class ServiceFetch {
+
+        private ServiceCatalog catalog;
+        private boolean changed;
+        private int added;
+        private int modified;
+        private int removed;
+        private long durationMs;
+
+        static ServiceFetch unchanged(ServiceCatalog catalog) {
+            ServiceFetch fetch = new ServiceFetch();
+            fetch.catalog = catalog;
+            return fetch;
+        }
+    }
+}
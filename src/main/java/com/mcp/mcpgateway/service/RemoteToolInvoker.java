@@ -0,0 +1,314 @@
+package com.mcp.mcpgateway.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import com.mcp.mcpgateway.config.RemoteServicesConfig;
+import com.mcp.mcpgateway.config.RemoteServicesConfig.HedgingConfig;
+import com.mcp.mcpgateway.config.RemoteServicesConfig.RemoteServiceConfig;
+import com.mcp.mcpgateway.model.ExecutionPriority;
+import com.mcp.mcpgateway.service.RemoteLoadBalancer.Replica;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class RemoteToolInvoker {
+
+    private static final long MILLI_TOKENS_PER_HEDGE = 1000;
+    private static final long MAX_MILLI_TOKENS = 10 * MILLI_TOKENS_PER_HEDGE;
+
+    private final RemoteServiceGuard serviceGuard;
+    private final RemoteLoadBalancer loadBalancer;
+    private final HedgingConfig hedging;
+
+    private final Map<String, LatencyTracker> latencies = new ConcurrentHashMap<>();
+    private final Map<String, HedgeBudget> budgets = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor hedgeTimer;
+    private final ThreadPoolExecutor hedgeExecutor;
+
+    public RemoteToolInvoker(RemoteServicesConfig config, RemoteServiceGuard serviceGuard,
+                             RemoteLoadBalancer loadBalancer) {
+        this.serviceGuard = serviceGuard;
+        this.loadBalancer = loadBalancer;
+        this.hedging = config.getHedging() != null ? config.getHedging() : new HedgingConfig();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hedgeTimer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "remote-hedge-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.hedgeTimer.setRemoveOnCancelPolicy(true);
+        // No queue: when every hedge thread is busy the hedge is simply skipped
+        this.hedgeExecutor = new ThreadPoolExecutor(0, hedging.getMaxThreads(), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "remote-hedge-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        hedgeTimer.shutdownNow();
+        hedgeExecutor.shutdownNow();
+    }
+
+    public <T> T invoke(RemoteServiceConfig serviceConfig, String toolName, Map<String, Object> toolMetadata,
+                        String tenant, ExecutionPriority priority, Function<String, T> call) {
+        String toolKey = serviceConfig.getId() + "." + toolName;
+        LatencyTracker latency = latencies.computeIfAbsent(toolKey, key -> new LatencyTracker());
+
+        if (!isHedgeable(serviceConfig, toolMetadata)) {
+            return timed(latency, () -> attempt(serviceConfig, tenant, priority, null, call, null));
+        }
+
+        HedgeBudget budget = budgets.computeIfAbsent(serviceConfig.getId(), id -> new HedgeBudget());
+        budget.deposit(hedging.getBudgetPercent());
+        // The hedged call records its primary attempt, never the duration a hedge shortened
+        return hedged(serviceConfig, toolMetadata, tenant, priority, latency, budget, call);
+    }
+
+    private <T> T hedged(RemoteServiceConfig serviceConfig, Map<String, Object> toolMetadata, String tenant,
+                         ExecutionPriority priority, LatencyTracker latency, HedgeBudget budget,
+                         Function<String, T> call) {
+        Replica primary = loadBalancer.select(serviceConfig);
+        RemoteCallScope primaryScope = new RemoteCallScope();
+        AtomicReference<RemoteCallScope> hedgeScope = new AtomicReference<>();
+        CompletableFuture<T> hedgeResult = new CompletableFuture<>();
+        ExecutionTrace trace = ExecutionTrace.current();
+
+        long delayMs = hedgeDelayMs(serviceConfig, toolMetadata, latency);
+        ScheduledFuture<?> timer = hedgeTimer.schedule(() -> {
+            if (hedgeResult.isDone()) {
+                return;
+            }
+            Replica secondary = loadBalancer.select(serviceConfig, primary);
+            if (secondary == primary || !budget.tryAcquire()) {
+                budget.denied.increment();
+                return;
+            }
+
+            RemoteCallScope scope = new RemoteCallScope();
+            hedgeScope.set(scope);
+            try {
+                hedgeExecutor.execute(() -> {
+                    try {
+                        T result = ExecutionTrace.run(trace, () -> attempt(serviceConfig, tenant, priority, secondary, call, scope));
+                        if (hedgeResult.complete(result)) {
+                            // First response wins, abort the primary attempt
+                            budget.wins.increment();
+                            primaryScope.cancel();
+                        }
+                    } catch (RuntimeException e) {
+                        hedgeResult.completeExceptionally(e);
+                    }
+                });
+                budget.hedges.increment();
+                log.debug("Hedging call to {} on {} after {}ms", serviceConfig.getId(), secondary.getUrl(), delayMs);
+            } catch (RuntimeException e) {
+                hedgeScope.set(null);
+                budget.denied.increment();
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+
+        long primaryStart = System.nanoTime();
+        try {
+            T result = attempt(serviceConfig, tenant, priority, primary, call, primaryScope);
+            latency.record(System.nanoTime() - primaryStart);
+            if (!hedgeResult.complete(result) && primaryScope.isCancelled()) {
+                return hedgeResult.join();
+            }
+            return result;
+        } catch (RuntimeException e) {
+            if (primaryScope.isCancelled()) {
+                // Aborted by a winning hedge: it would have taken at least this long, which is past the hedge
+                // delay, so the sample keeps counting above the percentile instead of pulling it down
+                latency.record(System.nanoTime() - primaryStart);
+            }
+            if (primaryScope.isCancelled() || hedgeScope.get() != null) {
+                // The hedge either won already or is still running and may succeed
+                return awaitHedge(hedgeResult, e);
+            }
+            throw e;
+        } finally {
+            timer.cancel(false);
+            RemoteCallScope scope = hedgeScope.get();
+            if (scope != null && hedgeResult.isDone() && !primaryScope.isCancelled()) {
+                scope.cancel();
+            }
+        }
+    }
+
+    private <T> T awaitHedge(CompletableFuture<T> hedgeResult, RuntimeException primaryFailure) {
+        try {
+            return hedgeResult.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw primaryFailure;
+        } catch (ExecutionException e) {
+            throw primaryFailure;
+        }
+    }
+
+    private <T> T attempt(RemoteServiceConfig serviceConfig, String tenant, ExecutionPriority priority, Replica replica,
+                          Function<String, T> call, RemoteCallScope scope) {
+        if (scope == null) {
+            return serviceGuard.execute(serviceConfig, tenant, priority, () ->
+                    (replica != null ? replica : loadBalancer.select(serviceConfig)).execute(call));
+        }
+        return scope.run(() -> serviceGuard.execute(serviceConfig, tenant, priority, () -> replica.execute(call)));
+    }
+
+    private <T> T timed(LatencyTracker latency, Supplier<T> call) {
+        long start = System.nanoTime();
+        T result = call.get();
+        latency.record(System.nanoTime() - start);
+        return result;
+    }
+
+    private boolean isHedgeable(RemoteServiceConfig serviceConfig, Map<String, Object> toolMetadata) {
+        return hedging.isEnabled()
+                && toolMetadata != null
+                && isTrue(toolMetadata.get("idempotent"))
+                && loadBalancer.replicaCount(serviceConfig) > 1;
+    }
+
+    private long hedgeDelayMs(RemoteServiceConfig serviceConfig, Map<String, Object> toolMetadata,
+                              LatencyTracker latency) {
+        Object fixedDelay = toolMetadata.get("hedgeDelayMs");
+        if (fixedDelay != null) {
+            try {
+                double delayMs = fixedDelay instanceof Number number
+                        ? number.doubleValue()
+                        : Double.parseDouble(fixedDelay.toString());
+                if (delayMs >= 0 && !Double.isInfinite(delayMs)) {
+                    return Math.round(delayMs);
+                }
+            } catch (NumberFormatException e) {
+                // Logged below
+            }
+            log.warn("Ignoring invalid hedgeDelayMs of tool {} on service {}: {}",
+                    toolMetadata.get("originalToolName"), serviceConfig.getId(), fixedDelay);
+        }
+
+        long percentileNanos = latency.percentileNanos(hedging.getPercentile(), hedging.getMinSamples());
+        if (percentileNanos < 0) {
+            return hedging.getInitialDelayMs();
+        }
+        return Math.max(hedging.getMinDelayMs(), TimeUnit.NANOSECONDS.toMillis(percentileNanos));
+    }
+
+    private static boolean isTrue(Object value) {
+        return Boolean.TRUE.equals(value) || "true".equalsIgnoreCase(String.valueOf(value));
+    }
+
+    public Map<String, Object> getState() {
+        Map<String, Object> budgetState = new LinkedHashMap<>();
+        budgets.forEach((serviceId, budget) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("hedges", budget.hedges.sum());
+            stats.put("wins", budget.wins.sum());
+            stats.put("denied", budget.denied.sum());
+            stats.put("availableTokens", budget.milliTokens.get() / (double) MILLI_TOKENS_PER_HEDGE);
+            budgetState.put(serviceId, stats);
+        });
+
+        Map<String, Object> delays = new LinkedHashMap<>();
+        latencies.forEach((toolKey, latency) -> {
+            long nanos = latency.percentileNanos(hedging.getPercentile(), hedging.getMinSamples());
+            delays.put(toolKey, nanos < 0 ? null : nanos / 1_000_000.0);
+        });
+
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("budgets", budgetState);
+        state.put("percentileLatencyMs", delays);
+        return state;
+    }
+
+    // Token bucket filled by hedgeable calls, so hedges stay a bounded fraction of the traffic
+    private static class HedgeBudget {
+
+        // Starts full, like gRPC retry throttling, so a cold gateway can still hedge
+        private final AtomicLong milliTokens = new AtomicLong(MAX_MILLI_TOKENS);
+        private final LongAdder hedges = new LongAdder();
+        private final LongAdder wins = new LongAdder();
+        private final LongAdder denied = new LongAdder();
+
+        void deposit(double percent) {
+            long amount = Math.round(percent * MILLI_TOKENS_PER_HEDGE / 100);
+            milliTokens.accumulateAndGet(amount, (current, add) -> Math.min(MAX_MILLI_TOKENS, current + add));
+        }
+
+        boolean tryAcquire() {
+            long current;
+            do {
+                current = milliTokens.get();
+                if (current < MILLI_TOKENS_PER_HEDGE) {
+                    return false;
+                }
+            } while (!milliTokens.compareAndSet(current, current - MILLI_TOKENS_PER_HEDGE));
+            return true;
+        }
+    }
+
+    // Keeps the latest samples of a tool and a cached percentile, recomputed every few samples
+    private static class LatencyTracker {
+
+        private static final int SIZE = 256;
+        private static final int RECOMPUTE_EVERY = 32;
+
+        private final AtomicLongArray samples = new AtomicLongArray(SIZE);
+        private final AtomicLong count = new AtomicLong();
+        private volatile double cachedPercentile = -1;
+        private volatile long cachedNanos = -1;
+
+        void record(long nanos) {
+            long n = count.getAndIncrement();
+            samples.set((int) (n % SIZE), nanos);
+            if ((n + 1) % RECOMPUTE_EVERY == 0) {
+                cachedPercentile = -1;
+            }
+        }
+
+        long percentileNanos(double percentile, int minSamples) {
+            long n = count.get();
+            if (n < minSamples) {
+                return -1;
+            }
+            if (cachedPercentile == percentile && cachedNanos >= 0) {
+                return cachedNanos;
+            }
+
+            int size = (int) Math.min(n, SIZE);
+            long[] sorted = new long[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = samples.get(i);
+            }
+            Arrays.sort(sorted);
+            long value = sorted[Math.min(size - 1, (int) Math.ceil(percentile * size) - 1)];
+            cachedNanos = value;
+            cachedPercentile = percentile;
+            return value;
+        }
+    }
+}
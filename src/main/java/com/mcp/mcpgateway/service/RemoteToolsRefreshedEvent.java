@@ -0,0 +1,25 @@
+package com.mcp.mcpgateway.service;
+
+import com.mcp.mcpgateway.model.RefreshReport;
+
+import lombok.Getter;
+
+
+@Getter
+public class RemoteToolsRefreshedEvent {
+
+    private final RefreshReport report;
+    private final Scope scope;
+
+    public RemoteToolsRefreshedEvent(RefreshReport report, Scope scope) {
+        this.report = report;
+        this.scope = scope;
+    }
+
+    public enum Scope {
+        // Every service, at startup or on request
+        ALL,
+        // A single service, announced by the service or due by its own timer
+        SERVICE
+    }
+}
@@ -0,0 +1,40 @@
+package com.mcp.mcpgateway.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mcp.mcpgateway.model.Tool;
+
+import lombok.Getter;
+
+
+@Getter
+final class ServiceCatalog {
+
+    static final ServiceCatalog EMPTY = new ServiceCatalog(null, null, null, Collections.emptyMap(), Collections.emptyMap());
+
+    private final String etag;
+    private final String lastModified;
+    private final String contentHash;
+    // Raw definitions keyed by original tool name, used to detect which tools changed
+    private final Map<String, JsonNode> definitions;
+    private final Map<String, Tool> toolsByOriginalName;
+    private final List<Tool> tools;
+
+    ServiceCatalog(String etag, String lastModified, String contentHash,
+                   Map<String, JsonNode> definitions, Map<String, Tool> toolsByOriginalName) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.contentHash = contentHash;
+        this.definitions = definitions;
+        this.toolsByOriginalName = toolsByOriginalName;
+        this.tools = Collections.unmodifiableList(new ArrayList<>(toolsByOriginalName.values()));
+    }
+
+    ServiceCatalog withValidators(String etag, String lastModified) {
+        return new ServiceCatalog(etag, lastModified, contentHash, definitions, toolsByOriginalName);
+    }
+}
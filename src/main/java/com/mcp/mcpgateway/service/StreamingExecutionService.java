@@ -0,0 +1,145 @@
+package com.mcp.mcpgateway.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import com.mcp.mcpgateway.config.ExecutionConfig;
+import com.mcp.mcpgateway.model.MCPResponse;
+import com.mcp.mcpgateway.model.Tool;
+import com.mcp.mcpgateway.model.ToolExecutionRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Events of a stream: any number of "chunk" (or the remote service's own event names), then
+// one "result" or "error" carrying an MCPResponse
+@Slf4j
+@Service
+public class StreamingExecutionService {
+
+    private final ToolService toolService;
+    private final RemoteServiceManager remoteServiceManager;
+    private final ExecutionDispatcher executionDispatcher;
+    private final ExecutionConfig config;
+    private final ParameterValidators parameterValidators;
+    private final AdmissionControl admissionControl;
+    private final ScheduledExecutorService heartbeatScheduler;
+
+    public StreamingExecutionService(ToolService toolService, RemoteServiceManager remoteServiceManager,
+                                     ExecutionDispatcher executionDispatcher, ExecutionConfig config,
+                                     ParameterValidators parameterValidators, AdmissionControl admissionControl) {
+        this.toolService = toolService;
+        this.remoteServiceManager = remoteServiceManager;
+        this.executionDispatcher = executionDispatcher;
+        this.config = config;
+        this.parameterValidators = parameterValidators;
+        this.admissionControl = admissionControl;
+        this.heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tool-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        heartbeatScheduler.shutdownNow();
+    }
+
+    // Cancelling the returned scope aborts the remote call, e.g. when the client went away
+    public RemoteCallScope execute(ToolExecutionRequest request, ToolStreamListener listener) {
+        RemoteCallScope scope = new RemoteCallScope();
+        ExecutionTrace trace = ExecutionTrace.current();
+        try {
+            executionDispatcher.getStreamExecutor().execute(() ->
+                    ExecutionTrace.run(trace, () -> scope.run(() -> run(request, listener, scope))));
+        } catch (RejectedExecutionException e) {
+            log.warn("Stream of {} rejected, all stream threads are busy", request.getToolName());
+            finish(listener, "error", MCPResponse.error("EXECUTION_REJECTED", "Gateway is at capacity, retry later"));
+        }
+        return scope;
+    }
+
+    private Void run(ToolExecutionRequest request, ToolStreamListener listener, RemoteCallScope scope) {
+        String toolName = request.getToolName();
+        ScheduledFuture<?> heartbeat = heartbeatScheduler.scheduleAtFixedRate(() -> {
+            try {
+                listener.heartbeat();
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Client of stream {} is gone, cancelling", toolName);
+                scope.cancel();
+            }
+        }, config.getStreamHeartbeatMs(), config.getStreamHeartbeatMs(), TimeUnit.MILLISECONDS);
+
+        try {
+            Optional<Tool> tool = toolService.getToolByName(toolName);
+            if (tool.isEmpty()) {
+                finish(listener, "error", MCPResponse.error("EXECUTION_ERROR", "Not Found: " + toolName));
+                return null;
+            }
+
+            Object result;
+            Map<String, Object> metadata = tool.get().getMetadata();
+            if (metadata != null && metadata.containsKey("serviceId")) {
+                admissionControl.admitTool(tool.get());
+                result = remoteServiceManager.streamRemoteTool(
+                        (String) metadata.get("serviceId"),
+                        (String) metadata.get("originalToolName"),
+                        parameterValidators.validate(tool.get(), request.getParameters()),
+                        request.getTenant(), request.getPriority(),
+                        (event, data) -> relay(listener, scope, event, data));
+            } else {
+                Optional<Object> local = toolService.executeTool(request);
+                if (local.isEmpty()) {
+                    finish(listener, "error", MCPResponse.error("EXECUTION_ERROR", "Not Found: " + toolName));
+                    return null;
+                }
+                result = local.get();
+            }
+
+            finish(listener, "result", MCPResponse.success(result));
+        } catch (InvalidParametersException e) {
+            finish(listener, "error", e.toResponse());
+        } catch (AdmissionRejectedException e) {
+            finish(listener, "error", e.toResponse());
+        } catch (RuntimeException e) {
+            if (scope.isCancelled()) {
+                log.info("Stream of {} cancelled", toolName);
+                listener.complete();
+            } else {
+                log.error("Stream of {} failed", toolName, e);
+                finish(listener, "error", MCPResponse.error("EXECUTION_ERROR", "Not Found: " + toolName, e.getMessage()));
+            }
+        } finally {
+            heartbeat.cancel(false);
+        }
+        return null;
+    }
+
+    private void relay(ToolStreamListener listener, RemoteCallScope scope, String event, Object data) {
+        try {
+            listener.send(event, data);
+        } catch (IOException | IllegalStateException e) {
+            // Abort the remote request first, otherwise closing it would drain the rest of the stream
+            scope.cancel();
+            throw new UncheckedIOException(new IOException("Client disconnected", e));
+        }
+    }
+
+    private void finish(ToolStreamListener listener, String event, MCPResponse<?> response) {
+        try {
+            listener.send(event, response);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Could not send the {} event: {}", event, e.getMessage());
+        }
+        listener.complete();
+    }
+}
@@ -0,0 +1,39 @@
+package com.mcp.mcpgateway.service;
+
+// Refills continuously at the given rate up to the burst size
+public class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long refilledAt;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        this.tokensPerNano = ratePerSecond / 1e9;
+        this.capacity = Math.max(1, burst > 0 ? burst : Math.ceil(ratePerSecond));
+        this.tokens = capacity;
+        this.refilledAt = System.nanoTime();
+    }
+
+    // Takes a token and returns 0, or returns the nanoseconds until one is available
+    public synchronized long tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens--;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    // A full bucket behaves like a new one
+    public synchronized boolean isFull() {
+        refill();
+        return tokens >= capacity;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+    }
+}
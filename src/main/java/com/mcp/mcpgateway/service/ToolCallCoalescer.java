@@ -0,0 +1,89 @@
+package com.mcp.mcpgateway.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import com.mcp.mcpgateway.config.ExecutionConfig;
+import com.mcp.mcpgateway.model.Tool;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Single flight: identical calls that arrive while one is running wait for it and share its result.
+// Tools opt in with "coalesce": true in their metadata.
+@Slf4j
+@Component
+public class ToolCallCoalescer {
+
+    private final ExecutionConfig config;
+    private final Map<String, CompletableFuture<Optional<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public ToolCallCoalescer(ExecutionConfig config) {
+        this.config = config;
+    }
+
+    public boolean isCoalesced(Tool tool) {
+        if (!config.isCoalescingEnabled() || tool.getMetadata() == null) {
+            return false;
+        }
+        Object value = tool.getMetadata().get("coalesce");
+        return Boolean.TRUE.equals(value) || "true".equalsIgnoreCase(String.valueOf(value));
+    }
+
+    public Optional<Object> execute(Tool tool, String callKey, Supplier<Optional<Object>> call) {
+        Counters toolCounters = counters.computeIfAbsent(tool.getName(), name -> new Counters());
+
+        CompletableFuture<Optional<Object>> flight = new CompletableFuture<>();
+        CompletableFuture<Optional<Object>> running = inFlight.putIfAbsent(callKey, flight);
+        if (running != null) {
+            toolCounters.coalesced.increment();
+            log.debug("Joining in-flight call of {}", tool.getName());
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        toolCounters.executed.increment();
+        try {
+            Optional<Object> result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // Errors too, or the callers that joined would wait forever
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Calls arriving from now on start a new flight
+            inFlight.remove(callKey, flight);
+        }
+    }
+
+    public Map<String, Map<String, Object>> getStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        counters.forEach((toolName, toolCounters) -> {
+            Map<String, Object> toolStats = new LinkedHashMap<>();
+            toolStats.put("executed", toolCounters.executed.sum());
+            toolStats.put("coalesced", toolCounters.coalesced.sum());
+            stats.put(toolName, toolStats);
+        });
+        return stats;
+    }
+
+    private static class Counters {
+
+        private final LongAdder executed = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+    }
+}
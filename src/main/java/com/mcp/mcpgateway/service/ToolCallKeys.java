@@ -0,0 +1,69 @@
+package com.mcp.mcpgateway.service;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Builds the identity of a tool call: same tool and same parameters give the same key,
+// whatever the order of the map entries or the notation of the numbers
+@Component
+public class ToolCallKeys {
+
+    private final ObjectWriter canonicalWriter;
+
+    public ToolCallKeys(ObjectMapper objectMapper) {
+        this.canonicalWriter = objectMapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .with(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+    }
+
+    public String keyOf(String toolName, Map<String, Object> parameters) {
+        try {
+            byte[] json = canonicalWriter.writeValueAsBytes(canonicalize(parameters));
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(toolName.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return toolName + "#" + HexFormat.of().formatHex(digest.digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Parameters of " + toolName + " cannot be canonicalized", e);
+        }
+    }
+
+    private Object canonicalize(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> sorted = new TreeMap<>();
+            // Keys are prefixed so a null key cannot collide with the string "null" (or any other key)
+            map.forEach((key, entry) -> sorted.put(key == null ? "" : "=" + key, canonicalize(entry)));
+            return sorted;
+        }
+        if (value instanceof Iterable<?> iterable) {
+            List<Object> list = new ArrayList<>();
+            iterable.forEach(item -> list.add(canonicalize(item)));
+            return list;
+        }
+        if (value instanceof Number number && !isNonFinite(number)) {
+            // 1, 1.0 and 1.00 are the same argument
+            return new BigDecimal(number.toString()).stripTrailingZeros();
+        }
+        return value;
+    }
+
+    private static boolean isNonFinite(Number number) {
+        return (number instanceof Double d && !Double.isFinite(d)) || (number instanceof Float f && !Float.isFinite(f));
+    }
+}
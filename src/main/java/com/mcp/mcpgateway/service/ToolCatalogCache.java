@@ -0,0 +1,106 @@
+package com.mcp.mcpgateway.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mcp.mcpgateway.model.MCPResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// The /api/tools response, serialized once per registry version
+@Slf4j
+@Component
+public class ToolCatalogCache {
+
+    private final ObjectWriter catalogWriter;
+    private volatile Catalog current;
+
+    public ToolCatalogCache(ObjectMapper objectMapper) {
+        this.catalogWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    public Catalog get(ToolRegistrySnapshot registry) {
+        Catalog catalog = current;
+        if (catalog != null && catalog.registry == registry) {
+            return catalog;
+        }
+
+        synchronized (this) {
+            catalog = current;
+            if (catalog == null || catalog.registry != registry) {
+                catalog = build(registry);
+                current = catalog;
+            }
+            return catalog;
+        }
+    }
+
+    private Catalog build(ToolRegistrySnapshot registry) {
+        long start = System.nanoTime();
+        try {
+            byte[] identity = catalogWriter.writeValueAsBytes(MCPResponse.success(registry.getTools()));
+            byte[] gzip = gzip(identity);
+            // Strong validators are per representation, so the gzip variant gets its own
+            String hash = DigestUtils.md5DigestAsHex(identity);
+
+            log.info("Serialized tool catalog version {}: {} tools, {} bytes ({} gzipped) in {}ms",
+                    registry.getVersion(), registry.size(), identity.length, gzip.length,
+                    (System.nanoTime() - start) / 1_000_000);
+            return new Catalog(registry, identity, gzip, "\"" + hash + "\"", "\"" + hash + "-gzip\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Tool catalog cannot be serialized", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static final class Catalog {
+
+        private final ToolRegistrySnapshot registry;
+        private final byte[] identity;
+        private final byte[] gzip;
+        private final String identityEtag;
+        private final String gzipEtag;
+
+        Catalog(ToolRegistrySnapshot registry, byte[] identity, byte[] gzip, String identityEtag, String gzipEtag) {
+            this.registry = registry;
+            this.identity = identity;
+            this.gzip = gzip;
+            this.identityEtag = identityEtag;
+            this.gzipEtag = gzipEtag;
+        }
+
+        public long getVersion() {
+            return registry.getVersion();
+        }
+
+        public byte[] body(boolean gzipped) {
+            return gzipped ? gzip : identity;
+        }
+
+        public String etag(boolean gzipped) {
+            return gzipped ? gzipEtag : identityEtag;
+        }
+    }
+}
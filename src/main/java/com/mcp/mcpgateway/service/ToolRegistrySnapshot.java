@@ -0,0 +1,40 @@
+package com.mcp.mcpgateway.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.mcp.mcpgateway.model.Tool;
+
+import lombok.Getter;
+
+
+@Getter
+public final class ToolRegistrySnapshot {
+
+    private final long version;
+    private final long createdAt;
+    private final Map<String, Tool> toolsByName;
+    private final List<Tool> tools;
+
+    public ToolRegistrySnapshot(long version, Map<String, Tool> toolsByName) {
+        this.version = version;
+        this.createdAt = System.currentTimeMillis();
+        this.toolsByName = Collections.unmodifiableMap(new LinkedHashMap<>(toolsByName));
+        this.tools = Collections.unmodifiableList(new ArrayList<>(toolsByName.values()));
+    }
+
+    public static ToolRegistrySnapshot empty() {
+        return new ToolRegistrySnapshot(0, Collections.emptyMap());
+    }
+
+    public Tool get(String name) {
+        return toolsByName.get(name);
+    }
+
+    public int size() {
+        return tools.size();
+    }
+}
@@ -0,0 +1,204 @@
+package com.mcp.mcpgateway.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mcp.mcpgateway.config.ExecutionConfig;
+import com.mcp.mcpgateway.model.RawJson;
+import com.mcp.mcpgateway.model.Tool;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Results of deterministic tools, opted in through the tool metadata:
+//   "cacheTtlMs": how long a result stays valid (required to enable caching)
+//   "cacheMaxEntries": entries kept for the tool, least recently used are evicted first
+//   "cacheMaxBytes": bound on the serialized size of the tool's cached results
+@Slf4j
+@Component
+public class ToolResultCache {
+
+    private final ExecutionConfig config;
+    private final ObjectWriter sizeWriter;
+    private final Map<String, Region> regions = new ConcurrentHashMap<>();
+
+    public ToolResultCache(ExecutionConfig config, ObjectMapper objectMapper) {
+        this.config = config;
+        this.sizeWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    public boolean isCacheable(Tool tool) {
+        return config.isResultCacheEnabled() && longSetting(tool, "cacheTtlMs", 0) > 0;
+    }
+
+    // Returns the cached result, or runs the call and caches what it returns when accepted
+    public Optional<Object> get(Tool tool, String key, Supplier<Optional<Object>> call, Predicate<Object> cacheable) {
+        Region region = regionOf(tool);
+
+        Object cached = region.get(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<Object> result = call.get();
+        if (result.isPresent() && cacheable.test(result.get())) {
+            // Results are only measured for tools that bound the bytes of their region
+            region.put(key, result.get(), region.maxBytes != Long.MAX_VALUE ? sizeOf(result.get()) : 0);
+        }
+        return result;
+    }
+
+    // Drops the regions of tools that left the registry or were redefined, so refreshes do not accumulate them
+    public void retain(ToolRegistrySnapshot registry) {
+        regions.entrySet().removeIf(entry -> registry.get(entry.getKey()) != entry.getValue().tool);
+    }
+
+    public Map<String, Map<String, Object>> getStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        regions.forEach((toolName, region) -> stats.put(toolName, region.stats()));
+        return stats;
+    }
+
+    private Region regionOf(Tool tool) {
+        Region current = regions.get(tool.getName());
+        if (current != null && current.tool == tool) {
+            return current;
+        }
+
+        // A new definition of the tool (e.g. after a refresh) starts from an empty region
+        return regions.compute(tool.getName(), (name, region) -> region != null && region.tool == tool
+                ? region
+                : new Region(tool,
+                        longSetting(tool, "cacheTtlMs", 0),
+                        (int) longSetting(tool, "cacheMaxEntries", config.getResultCacheMaxEntries()),
+                        longSetting(tool, "cacheMaxBytes", Long.MAX_VALUE)));
+    }
+
+    private long sizeOf(Object value) {
+        if (value instanceof RawJson json) {
+            return json.size();
+        }
+        try {
+            return sizeWriter.writeValueAsBytes(value).length;
+        } catch (JsonProcessingException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static long longSetting(Tool tool, String key, long defaultValue) {
+        Object value = tool.getMetadata() != null ? tool.getMetadata().get(key) : null;
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.toString());
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring invalid {} of tool {}: {}", key, tool.getName(), value);
+            return defaultValue;
+        }
+    }
+
+    private static class Region {
+
+        private final Tool tool;
+        private final long ttlMs;
+        private final int maxEntries;
+        private final long maxBytes;
+        // Access order, so iteration starts at the least recently used entry
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long bytes;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final LongAdder expirations = new LongAdder();
+
+        Region(Tool tool, long ttlMs, int maxEntries, long maxBytes) {
+            this.tool = tool;
+            this.ttlMs = ttlMs;
+            this.maxEntries = maxEntries;
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized Object get(String key) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt <= System.currentTimeMillis()) {
+                remove(key, entry);
+                expirations.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        }
+
+        synchronized void put(String key, Object value, long size) {
+            if (size > maxBytes || maxEntries <= 0) {
+                return;
+            }
+
+            Entry previous = entries.put(key, new Entry(value, size, System.currentTimeMillis() + ttlMs));
+            if (previous != null) {
+                bytes -= previous.size;
+            }
+            bytes += size;
+
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+                bytes -= eldest.next().getValue().size;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+
+        private void remove(String key, Entry entry) {
+            entries.remove(key);
+            bytes -= entry.size;
+        }
+
+        synchronized Map<String, Object> stats() {
+            long hitCount = hits.sum();
+            long lookups = hitCount + misses.sum();
+
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("entries", entries.size());
+            stats.put("hits", hitCount);
+            stats.put("misses", misses.sum());
+            stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+            stats.put("evictions", evictions.sum());
+            stats.put("expirations", expirations.sum());
+            stats.put("ttlMs", ttlMs);
+            stats.put("maxEntries", maxEntries);
+            if (maxBytes != Long.MAX_VALUE) {
+                stats.put("bytes", bytes);
+                stats.put("maxBytes", maxBytes);
+            }
+            return stats;
+        }
+    }
+
+    private static class Entry {
+
+        private final Object value;
+        private final long size;
+        private final long expiresAt;
+
+        Entry(Object value, long size, long expiresAt) {
+            this.value = value;
+            this.size = size;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.mcp.mcpgateway.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import com.mcp.mcpgateway.model.Tool;
+import com.mcp.mcpgateway.model.ToolQuery;
+import com.mcp.mcpgateway.model.ToolSearchResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Inverted index over the registry. Every registry snapshot gets its own immutable index, derived from the
+// index of the previous version by re-indexing only the tools that were added, removed or replaced. Postings
+// are sorted name arrays, so filters intersect by merging and pages are read without sorting.
+@Slf4j
+@Component
+public class ToolSearchIndex {
+
+    private static final int DEFAULT_LIMIT = 50;
+    private static final int MAX_LIMIT = 500;
+    private static final String[] NO_NAMES = new String[0];
+
+    // Only moves forward in registry version; the one before stays for queries still holding its snapshot
+    private volatile Index current;
+    private volatile Index previous;
+
+    public ToolSearchResult search(ToolRegistrySnapshot registry, ToolQuery query) {
+        Index index = indexOf(registry);
+
+        int limit = query.getLimit() <= 0 ? DEFAULT_LIMIT : Math.min(query.getLimit(), MAX_LIMIT);
+        String after = decodeCursor(query.getCursor());
+
+        String[] candidates = candidates(index, query);
+        int from = after == null ? 0 : firstAfter(candidates, after);
+        int to = Math.min(candidates.length, from + limit);
+
+        List<Tool> tools = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            tools.add(registry.get(candidates[i]));
+        }
+
+        return ToolSearchResult.builder()
+                .tools(tools)
+                .total(candidates.length)
+                .nextCursor(to < candidates.length && to > from ? encodeCursor(candidates[to - 1]) : null)
+                .registryVersion(registry.getVersion())
+                .build();
+    }
+
+    // Intersection of every filter of the query, all tools when the query has none
+    private String[] candidates(Index index, ToolQuery query) {
+        List<String[]> postings = new ArrayList<>();
+
+        if (query.getNamePrefix() != null && !query.getNamePrefix().isEmpty()) {
+            String prefix = query.getNamePrefix();
+            int from = firstAtLeast(index.names, prefix);
+            int to = firstAtLeast(index.names, prefix + Character.MAX_VALUE);
+            postings.add(Arrays.copyOfRange(index.names, from, to));
+        }
+        if (query.getText() != null) {
+            for (String term : tokenize(query.getText())) {
+                postings.add(index.terms.getOrDefault(term, NO_NAMES));
+            }
+        }
+        if (query.getServiceId() != null) {
+            postings.add(index.metadataEntries.getOrDefault(entryKey("serviceId", query.getServiceId()), NO_NAMES));
+        }
+        if (query.getMetadata() != null) {
+            query.getMetadata().forEach((key, value) ->
+                    postings.add(index.metadataEntries.getOrDefault(entryKey(key, value), NO_NAMES)));
+        }
+
+        if (postings.isEmpty()) {
+            return index.names;
+        }
+
+        // Start from the smallest posting list so the intersection stays cheap
+        postings.sort(Comparator.comparingInt(posting -> posting.length));
+        String[] result = postings.get(0);
+        for (int i = 1; i < postings.size() && result.length > 0; i++) {
+            result = intersect(result, postings.get(i));
+        }
+        return result;
+    }
+
+    private Index indexOf(ToolRegistrySnapshot registry) {
+        Index index = current;
+        if (index != null && index.registry == registry) {
+            return index;
+        }
+        Index before = previous;
+        if (before != null && before.registry == registry) {
+            return before;
+        }
+
+        synchronized (this) {
+            index = current;
+            if (index != null && index.registry == registry) {
+                return index;
+            }
+            Index built = build(index, registry);
+            if (index == null || registry.getVersion() > index.registry.getVersion()) {
+                previous = index;
+                current = built;
+            }
+            return built;
+        }
+    }
+
+    private static Index build(Index base, ToolRegistrySnapshot registry) {
+        long start = System.nanoTime();
+        Map<String, String[]> terms = base == null ? new HashMap<>() : new HashMap<>(base.terms);
+        Map<String, String[]> metadataEntries = base == null ? new HashMap<>() : new HashMap<>(base.metadataEntries);
+
+        // Postings of every key a changed tool had or has now are rebuilt without the old and with the new tools
+        Set<String> changed = new HashSet<>();
+        Map<String, Set<String>> termsAdded = new HashMap<>();
+        Map<String, Set<String>> entriesAdded = new HashMap<>();
+        Set<String> affectedTerms = new HashSet<>();
+        Set<String> affectedEntries = new HashSet<>();
+        if (base != null) {
+            for (Tool tool : base.registry.getTools()) {
+                if (registry.get(tool.getName()) != tool) {
+                    changed.add(tool.getName());
+                    affectedTerms.addAll(documentTerms(tool));
+                    affectedEntries.addAll(metadataKeys(tool));
+                }
+            }
+        }
+        for (Tool tool : registry.getTools()) {
+            if (base == null || base.registry.get(tool.getName()) != tool) {
+                changed.add(tool.getName());
+                for (String term : documentTerms(tool)) {
+                    termsAdded.computeIfAbsent(term, key -> new HashSet<>()).add(tool.getName());
+                    affectedTerms.add(term);
+                }
+                for (String entry : metadataKeys(tool)) {
+                    entriesAdded.computeIfAbsent(entry, key -> new HashSet<>()).add(tool.getName());
+                    affectedEntries.add(entry);
+                }
+            }
+        }
+        repost(terms, affectedTerms, changed, termsAdded);
+        repost(metadataEntries, affectedEntries, changed, entriesAdded);
+
+        String[] names = registry.getToolsByName().keySet().toArray(NO_NAMES);
+        Arrays.sort(names);
+
+        if (!changed.isEmpty()) {
+            log.debug("Search index at registry version {}: {} tools re-indexed in {}us",
+                    registry.getVersion(), changed.size(), (System.nanoTime() - start) / 1000);
+        }
+        return new Index(registry, names, terms, metadataEntries);
+    }
+
+    private static void repost(Map<String, String[]> index, Set<String> affected, Set<String> changed,
+                               Map<String, Set<String>> added) {
+        for (String key : affected) {
+            TreeSet<String> posting = new TreeSet<>();
+            for (String name : index.getOrDefault(key, NO_NAMES)) {
+                if (!changed.contains(name)) {
+                    posting.add(name);
+                }
+            }
+            posting.addAll(added.getOrDefault(key, Set.of()));
+            if (posting.isEmpty()) {
+                index.remove(key);
+            } else {
+                index.put(key, posting.toArray(NO_NAMES));
+            }
+        }
+    }
+
+    private static String[] intersect(String[] left, String[] right) {
+        String[] result = new String[Math.min(left.length, right.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            int order = left[i].compareTo(right[j]);
+            if (order == 0) {
+                result[count++] = left[i];
+                i++;
+                j++;
+            } else if (order < 0) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    private static int firstAtLeast(String[] sorted, String key) {
+        int position = Arrays.binarySearch(sorted, key);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    private static int firstAfter(String[] sorted, String key) {
+        int position = Arrays.binarySearch(sorted, key);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    private static Set<String> documentTerms(Tool tool) {
+        Set<String> documentTerms = new LinkedHashSet<>(tokenize(tool.getName()));
+        documentTerms.addAll(tokenize(tool.getDescription()));
+        return documentTerms;
+    }
+
+    private static Set<String> metadataKeys(Tool tool) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (tool.getMetadata() != null) {
+            tool.getMetadata().forEach((key, value) -> {
+                // Only scalar values can be filtered on
+                if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+                    keys.add(entryKey(key, String.valueOf(value)));
+                }
+            });
+        }
+        return keys;
+    }
+
+    private static String entryKey(String key, String value) {
+        return key + '\u0000' + value;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static String encodeCursor(String name) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    // Never modified once built; posting arrays are shared with the indexes of later versions
+    private static final class Index {
+
+        private final ToolRegistrySnapshot registry;
+        private final String[] names;
+        private final Map<String, String[]> terms;
+        private final Map<String, String[]> metadataEntries;
+
+        Index(ToolRegistrySnapshot registry, String[] names, Map<String, String[]> terms,
+              Map<String, String[]> metadataEntries) {
+            this.registry = registry;
+            this.names = names;
+            this.terms = terms;
+            this.metadataEntries = metadataEntries;
+        }
+    }
+}
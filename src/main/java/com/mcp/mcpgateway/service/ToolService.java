@@ -2,6 +2,7 @@ package com.mcp.mcpgateway.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import com.mcp.mcpgateway.model.Tool;
 import com.mcp.mcpgateway.model.ToolExecutionRequest;
@@ -14,4 +15,8 @@ public interface ToolService {
     Optional<Tool> getToolByName(String name);
     
     Optional<Object> executeTool(ToolExecutionRequest request);
+
+    CompletableFuture<Optional<Object>> executeToolAsync(ToolExecutionRequest request);
+
+    ToolRegistrySnapshot getRegistrySnapshot();
 } 
\ No newline at end of file
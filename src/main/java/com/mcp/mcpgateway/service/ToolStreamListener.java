@@ -0,0 +1,13 @@
+package com.mcp.mcpgateway.service;
+
+import java.io.IOException;
+
+// Receives the events of a streaming execution, written to the client in order
+public interface ToolStreamListener {
+
+    void send(String event, Object data) throws IOException;
+
+    void heartbeat() throws IOException;
+
+    void complete();
+}
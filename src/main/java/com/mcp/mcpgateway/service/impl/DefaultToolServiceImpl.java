@@ -5,18 +5,33 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import com.mcp.mcpgateway.model.Tool;
 import com.mcp.mcpgateway.model.ToolExecutionRequest;
+import com.mcp.mcpgateway.service.AdmissionControl;
+import com.mcp.mcpgateway.service.AdmissionRejectedException;
+import com.mcp.mcpgateway.service.ExecutionDispatcher;
+import com.mcp.mcpgateway.service.ExecutionTrace;
+import com.mcp.mcpgateway.service.GatewayMetrics;
+import com.mcp.mcpgateway.service.InvalidParametersException;
+import com.mcp.mcpgateway.service.ParameterValidators;
 import com.mcp.mcpgateway.service.RemoteServiceManager;
+import com.mcp.mcpgateway.service.RemoteToolsRefreshedEvent;
+import com.mcp.mcpgateway.service.ToolCallCoalescer;
+import com.mcp.mcpgateway.service.ToolCallKeys;
+import com.mcp.mcpgateway.service.ToolRegistrySnapshot;
+import com.mcp.mcpgateway.service.ToolResultCache;
 import com.mcp.mcpgateway.service.ToolService;
 
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 
 @Slf4j
@@ -25,22 +40,42 @@ import java.util.concurrent.ConcurrentHashMap;
 @RequiredArgsConstructor
 public class DefaultToolServiceImpl implements ToolService {
 
+    // Reasons the gateway itself sets on failed remote calls; a remote result can look like an error response
+    // too, so anything else is reported as REMOTE_ERROR to keep the metric tags bounded
+    private static final Set<String> GATEWAY_REASONS = Set.of("CIRCUIT_OPEN", "BULKHEAD_FULL");
+
     private final MockToolServiceImpl mockToolService;
     private final RemoteServiceManager remoteServiceManager;
+    private final ExecutionDispatcher executionDispatcher;
+    private final ToolResultCache resultCache;
+    private final ToolCallCoalescer coalescer;
+    private final ToolCallKeys callKeys;
+    private final ParameterValidators parameterValidators;
+    private final GatewayMetrics metrics;
+    private final AdmissionControl admissionControl;
 
-    private final Map<String, Tool> allTools = new ConcurrentHashMap<>();
+    // Readers always see a complete registry; refreshes swap in a new snapshot
+    private volatile ToolRegistrySnapshot registry = ToolRegistrySnapshot.empty();
 
     @Value("${mcp.include-mock-tools:true}")
     private boolean includeMockTools;
 
     @PostConstruct
     public void initialize() {
+        metrics.bindRegistry(() -> registry);
         refreshToolRegistry();
     }
 
 
-    public void refreshToolRegistry() {
-        allTools.clear();
+    @EventListener
+    public void onRemoteToolsRefreshed(RemoteToolsRefreshedEvent event) {
+        if (event.getReport().isChanged()) {
+            refreshToolRegistry();
+        }
+    }
+
+    public synchronized void refreshToolRegistry() {
+        Map<String, Tool> allTools = new LinkedHashMap<>();
 
         if (includeMockTools) {
             log.info("Including mock tools in the registry");
@@ -56,31 +91,105 @@ public class DefaultToolServiceImpl implements ToolService {
             allTools.put(tool.getName(), tool);
         }
 
-        log.info("Tool registry refreshed. Total tools: {}", allTools.size());
+        parameterValidators.prepare(allTools.values());
+        registry = new ToolRegistrySnapshot(registry.getVersion() + 1, allTools);
+        resultCache.retain(registry);
+        log.info("Tool registry refreshed. Version: {}, total tools: {}", registry.getVersion(), registry.size());
     }
 
     @Override
     public List<Tool> getAllTools() {
-        return new ArrayList<>(allTools.values());
+        return registry.getTools();
     }
 
     @Override
     public Optional<Tool> getToolByName(String name) {
-        return Optional.ofNullable(allTools.get(name));
+        return Optional.ofNullable(registry.get(name));
     }
 
     @Override
-    public Optional<Object> executeTool(ToolExecutionRequest request) {
-        String toolName = request.getToolName();
-        Map<String, Object> params = request.getParameters();
+    public ToolRegistrySnapshot getRegistrySnapshot() {
+        return registry;
+    }
 
-        log.info("Executing tool: {} with parameters: {}", toolName, params);
+    @Override
+    public Optional<Object> executeTool(ToolExecutionRequest original) {
+        String toolName = original.getToolName();
+
+        log.info("Executing tool: {} with parameters: {}", toolName, original.getParameters());
 
-        Tool tool = allTools.get(toolName);
+        long start = metrics.toolStarted();
+        Tool tool = registry.get(toolName);
         if (tool == null) {
             log.error("Tool not found: {}", toolName);
+            metrics.toolFinished(GatewayMetrics.UNKNOWN, GatewayMetrics.UNKNOWN, "NOT_FOUND", start);
             return Optional.empty();
         }
+        ExecutionTrace.record(ExecutionTrace.Phase.LOOKUP, start);
+
+        String serviceId = tool.getMetadata() != null && tool.getMetadata().get("serviceId") instanceof String id
+                ? id
+                : GatewayMetrics.LOCAL;
+        String code = "EXECUTION_ERROR";
+        try {
+            admissionControl.admitTool(tool);
+            Optional<Object> result = execute(tool, original);
+            code = resultCode(result);
+            return result;
+        } catch (InvalidParametersException e) {
+            code = "INVALID_PARAMETERS";
+            throw e;
+        } catch (AdmissionRejectedException e) {
+            code = e.getCode();
+            throw e;
+        } finally {
+            metrics.toolFinished(toolName, serviceId, code, start);
+        }
+    }
+
+    private Optional<Object> execute(Tool tool, ToolExecutionRequest original) {
+        String toolName = tool.getName();
+
+        // Rejects invalid calls before any remote hop; coerced values replace the original ones
+        long validationStart = System.nanoTime();
+        Map<String, Object> params = parameterValidators.validate(tool, original.getParameters());
+        ExecutionTrace.record(ExecutionTrace.Phase.VALIDATE, validationStart);
+        ToolExecutionRequest request = params == original.getParameters()
+                ? original
+                : new ToolExecutionRequest(toolName, params, original.getTenant(), original.getPriority());
+
+        boolean cacheable = resultCache.isCacheable(tool);
+        boolean coalesced = coalescer.isCoalesced(tool);
+        if (!cacheable && !coalesced) {
+            return invoke(tool, request);
+        }
+
+        // Cache first, then join an identical call in flight, then call the tool
+        String callKey = callKeys.keyOf(toolName, params);
+        Supplier<Optional<Object>> call = coalesced
+                ? () -> coalescer.execute(tool, callKey, () -> invoke(tool, request))
+                : () -> invoke(tool, request);
+        if (cacheable) {
+            // Failed remote calls must not be served again from the cache
+            return resultCache.get(tool, callKey, call, result -> !RemoteServiceManager.isErrorResponse(result));
+        }
+        return call.get();
+    }
+
+    private static String resultCode(Optional<Object> result) {
+        if (result.isEmpty()) {
+            return "EXECUTION_ERROR";
+        }
+        if (RemoteServiceManager.isErrorResponse(result.get())) {
+            Object reason = ((Map<?, ?>) result.get()).get("reason");
+            return reason instanceof String code && GATEWAY_REASONS.contains(code) ? code : "REMOTE_ERROR";
+        }
+        return "OK";
+    }
+
+    private Optional<Object> invoke(Tool tool, ToolExecutionRequest request) {
+        Map<String, Object> params = request.getParameters();
+        AdmissionControl.markExecuted();
 
         if (tool.getMetadata() != null && tool.getMetadata().containsKey("serviceId")) {
             String serviceId = (String) tool.getMetadata().get("serviceId");
@@ -89,7 +198,8 @@ public class DefaultToolServiceImpl implements ToolService {
             log.info("Executing remote tool '{}' on service '{}'", originalToolName, serviceId);
 
             try {
-                Object result = remoteServiceManager.executeRemoteTool(serviceId, originalToolName, params);
+                Object result = remoteServiceManager.executeRemoteTool(serviceId, originalToolName, params,
+                        tool.getMetadata(), request.getTenant(), request.getPriority());
                 return Optional.ofNullable(result);
             } catch (Exception e) {
                 log.error("Error executing remote tool", e);
@@ -99,4 +209,9 @@ public class DefaultToolServiceImpl implements ToolService {
 
         return mockToolService.executeTool(request);
     }
+
+    @Override
+    public CompletableFuture<Optional<Object>> executeToolAsync(ToolExecutionRequest request) {
+        return executionDispatcher.submit(request.getTenant(), request.getPriority(), () -> executeTool(request));
+    }
 } 
\ No newline at end of file
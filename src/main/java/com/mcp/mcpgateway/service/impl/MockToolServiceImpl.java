@@ -6,6 +6,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.stereotype.Service;
 
@@ -13,6 +14,7 @@ import com.mcp.mcpgateway.model.Tool;
 import com.mcp.mcpgateway.model.ToolExecutionRequest;
 import com.mcp.mcpgateway.model.ToolParameter;
 import com.mcp.mcpgateway.model.ToolReturn;
+import com.mcp.mcpgateway.service.ToolRegistrySnapshot;
 import com.mcp.mcpgateway.service.ToolService;
 
 import jakarta.annotation.PostConstruct;
@@ -24,11 +26,13 @@ import lombok.extern.slf4j.Slf4j;
 public class MockToolServiceImpl implements ToolService {
 
     private final Map<String, Tool> tools = new HashMap<>();
+    private ToolRegistrySnapshot snapshot = ToolRegistrySnapshot.empty();
     
     
     @PostConstruct
     public void init() {
         createMockTools();
+        snapshot = new ToolRegistrySnapshot(1, tools);
     }
     
     @Override
@@ -41,6 +45,11 @@ public class MockToolServiceImpl implements ToolService {
         return Optional.ofNullable(tools.get(name));
     }
 
+    @Override
+    public ToolRegistrySnapshot getRegistrySnapshot() {
+        return snapshot;
+    }
+
     @Override
     public Optional<Object> executeTool(ToolExecutionRequest request) {
         String toolName = request.getToolName();
@@ -68,6 +77,11 @@ public class MockToolServiceImpl implements ToolService {
         }
     }
     
+    @Override
+    public CompletableFuture<Optional<Object>> executeToolAsync(ToolExecutionRequest request) {
+        return CompletableFuture.completedFuture(executeTool(request));
+    }
+    
     private Optional<Object> executeCalculator(Map<String, Object> params) {
         try {
             String operation = (String) params.get("operation");
@@ -149,6 +163,7 @@ public class MockToolServiceImpl implements ToolService {
                                 .type("string")
                                 .description("Operation to perform (add, subtract, multiply, divide)")
                                 .required(true)
+                                .schema(Map.of("enum", List.of("add", "subtract", "multiply", "divide")))
                                 .build(),
                         ToolParameter.builder()
                                 .name("a")
@@ -167,6 +182,7 @@ public class MockToolServiceImpl implements ToolService {
                         .type("object")
                         .description("Operation result")
                         .build())
+                .metadata(Map.of("cacheTtlMs", 300000))
                 .build();
         
         Tool textAnalyzer = Tool.builder()
@@ -184,6 +200,7 @@ public class MockToolServiceImpl implements ToolService {
                         .type("object")
                         .description("Text analysis")
                         .build())
+                .metadata(Map.of("cacheTtlMs", 300000))
                 .build();
         
         Tool weatherForecast = Tool.builder()
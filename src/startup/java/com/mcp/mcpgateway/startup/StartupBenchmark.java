@@ -0,0 +1,365 @@
+package com.mcp.mcpgateway.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Starts the packaged gateway as a separate process and measures how fast it serves: the time until its port
+// accepts connections and the latency of the first /api/tools and /api/execute requests. "train" runs the
+// gateway once with the requests and writes the AppCDS archive when it exits, "measure" compares plain JVM,
+// Spring AOT, AOT with the archive and, when built, the native executable.
+// Settings are system properties, see the startup profile in pom.xml.
+public class StartupBenchmark {
+
+    private static final String CONTEXT_PATH = "/mcp";
+    private static final long READY_TIMEOUT_MS = 120_000;
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+    private static final String EXECUTE_BODY =
+            "{\"toolName\":\"calculator\",\"parameters\":{\"operation\":\"add\",\"a\":1,\"b\":2}}";
+
+    private final String jar = property("startup.jar", "target/startup/mcp-gateway-0.0.1-SNAPSHOT.jar");
+    private final String archive = property("startup.archive", "target/startup/mcp-gateway.jsa");
+    private final String jvmArgs = property("startup.jvmArgs", "");
+    private final String gatewayArgs = property("startup.gatewayArgs", "");
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        StartupBenchmark benchmark = new StartupBenchmark();
+        if (args.length > 0 && "train".equals(args[0])) {
+            benchmark.train();
+        } else {
+            benchmark.measure();
+        }
+        System.exit(0);
+    }
+
+    private void train() throws Exception {
+        File archiveFile = new File(archive);
+        archiveFile.delete();
+
+        // Dynamic archive of the classes loaded when the JVM exits, after the context and the first requests
+        List<String> command = javaCommand(List.of("-Dspring.aot.enabled=true", "-XX:ArchiveClassesAtExit=" + archive));
+        System.out.println("Training run for the CDS archive");
+        Run run = launch(command);
+        for (int i = 0; i < 3; i++) {
+            send(tools(run.baseUrl));
+            send(execute(run.baseUrl));
+        }
+        run.stop();
+
+        if (!archiveFile.isFile()) {
+            throw new IllegalStateException("CDS archive was not written:\n" + run.output());
+        }
+        System.out.printf(Locale.ROOT, "CDS archive is saved to %s (%d KB)%n",
+                archiveFile.getAbsolutePath(), archiveFile.length() / 1024);
+    }
+
+    private void measure() throws Exception {
+        int runs = Integer.parseInt(property("startup.runs", "5"));
+        String resultFile = property("startup.resultFile", "target/startup/startup-result.json");
+
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        variants.put("jvm", javaCommand(List.of()));
+        variants.put("aot", javaCommand(List.of("-Dspring.aot.enabled=true")));
+        if (new File(archive).isFile()) {
+            variants.put("aot+cds", javaCommand(List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + archive,
+                    "-Xlog:cds=off", "-Xlog:class+path=off")));
+        } else {
+            System.out.println("No CDS archive at " + archive + ", skipping aot+cds");
+        }
+        File nativeExecutable = new File(property("startup.nativeExecutable", ""));
+        if (nativeExecutable.isFile() && nativeExecutable.canExecute()) {
+            List<String> command = new ArrayList<>(List.of(nativeExecutable.getAbsolutePath()));
+            command.addAll(gatewayArguments());
+            variants.put("native", command);
+        }
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+            List<Map<String, Object>> samples = new ArrayList<>();
+            for (int i = 1; i <= runs; i++) {
+                samples.add(sample(variant.getValue()));
+                System.out.printf(Locale.ROOT, "%-8s run %d/%d: %s%n", variant.getKey(), i, runs, samples.get(i - 1));
+            }
+            results.put(variant.getKey(), summarize(samples));
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("runs", runs);
+        settings.put("jvmArgs", jvmArgs);
+        settings.put("gatewayArgs", gatewayArgs);
+        settings.put("javaVersion", System.getProperty("java.version"));
+        settings.put("processors", Runtime.getRuntime().availableProcessors());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.put("variants", results);
+
+        print(results);
+        File file = new File(resultFile);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        System.out.println("Startup result is saved to " + file.getAbsolutePath());
+    }
+
+    private Map<String, Object> sample(List<String> command) throws Exception {
+        Run run = launch(command);
+        try {
+            long start = System.nanoTime();
+            send(tools(run.baseUrl));
+            long toolsNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            send(execute(run.baseUrl));
+            long executeNanos = System.nanoTime() - start;
+
+            Map<String, Object> sample = new LinkedHashMap<>();
+            sample.put("readyMs", round(run.readyNanos / 1e6));
+            sample.put("reportedStartupMs", run.reportedStartupMs());
+            sample.put("firstToolsMs", round(toolsNanos / 1e6));
+            sample.put("firstExecuteMs", round(executeNanos / 1e6));
+            return sample;
+        } finally {
+            run.stop();
+        }
+    }
+
+    private List<String> javaCommand(List<String> variantArgs) {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(split(jvmArgs));
+        command.addAll(variantArgs);
+        command.add("-jar");
+        command.add(jar);
+        command.addAll(gatewayArguments());
+        return command;
+    }
+
+    private List<String> gatewayArguments() {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.servlet.context-path=" + CONTEXT_PATH,
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.mcp.mcpgateway=WARN",
+                "--logging.level.com.mcp.mcpgateway.MCPGatewayApplication=INFO",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN",
+                // Runs must not depend on a catalog left on disk by an earlier one
+                "--mcp.remote-services.snapshot.enabled=false"));
+        args.addAll(split(gatewayArgs));
+        return args;
+    }
+
+    private Run launch(List<String> command) throws Exception {
+        int port = freePort();
+        List<String> withPort = new ArrayList<>(command);
+        withPort.add("--server.port=" + port);
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(withPort).redirectErrorStream(true).start();
+        Run run = new Run(process, "http://127.0.0.1:" + port + CONTEXT_PATH);
+
+        // The connector only opens once the context is refreshed, so the first connection marks readiness
+        // without sending an HTTP request that would warm up the request path
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(READY_TIMEOUT_MS);
+        while (!accepts(port)) {
+            if (!process.isAlive() || System.nanoTime() > deadline) {
+                run.stop();
+                throw new IllegalStateException("Gateway did not start:\n" + run.output());
+            }
+            Thread.sleep(2);
+        }
+        run.readyNanos = System.nanoTime() - start;
+        return run;
+    }
+
+    private void send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.uri() + " returned " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    private static HttpRequest tools(String baseUrl) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/tools"))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest execute(String baseUrl) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/execute"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(EXECUTE_BODY))
+                .build();
+    }
+
+    private static boolean accepts(int port) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("127.0.0.1", port), 100);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Map<String, Object> summarize(List<Map<String, Object>> samples) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        for (String metric : samples.get(0).keySet()) {
+            List<Double> values = new ArrayList<>();
+            for (Map<String, Object> sample : samples) {
+                Object value = sample.get(metric);
+                if (value instanceof Number number) {
+                    values.add(number.doubleValue());
+                }
+            }
+            if (values.isEmpty()) {
+                continue;
+            }
+            values.sort(null);
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("median", round(values.get(values.size() / 2)));
+            stats.put("min", round(values.get(0)));
+            stats.put("max", round(values.get(values.size() - 1)));
+            summary.put(metric, stats);
+        }
+        summary.put("samples", samples);
+        return summary;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> results) {
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-8s %12s %16s %16s %18s%n",
+                "Variant", "Ready ms", "Reported ms", "First tools ms", "First execute ms");
+        results.forEach((variant, summary) -> {
+            Map<String, Object> stats = (Map<String, Object>) summary;
+            System.out.printf(Locale.ROOT, "%-8s %12s %16s %16s %18s%n", variant,
+                    median(stats, "readyMs"), median(stats, "reportedStartupMs"),
+                    median(stats, "firstToolsMs"), median(stats, "firstExecuteMs"));
+        });
+        System.out.println("(medians)");
+        System.out.println();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object median(Map<String, Object> stats, String metric) {
+        Object metricStats = stats.get(metric);
+        return metricStats instanceof Map ? ((Map<String, Object>) metricStats).get("median") : "-";
+    }
+
+    private static List<String> split(String args) {
+        List<String> result = new ArrayList<>();
+        for (String arg : args.trim().split("\\s+")) {
+            if (!arg.isEmpty()) {
+                result.add(arg);
+            }
+        }
+        return result;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        return value != null && !value.isEmpty() ? value : defaultValue;
+    }
+
+    private static class Run {
+
+        private final Process process;
+        private final String baseUrl;
+        private final Deque<String> lines = new ArrayDeque<>();
+        private final Thread reader;
+        private volatile Double reportedStartupMs;
+        private long readyNanos;
+
+        Run(Process process, String baseUrl) {
+            this.process = process;
+            this.baseUrl = baseUrl;
+            this.reader = new Thread(this::readOutput, "gateway-output");
+            this.reader.setDaemon(true);
+            this.reader.start();
+        }
+
+        private void readOutput() {
+            try (BufferedReader output = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = output.readLine()) != null) {
+                    Matcher started = STARTED.matcher(line);
+                    if (started.find()) {
+                        reportedStartupMs = round(Double.parseDouble(started.group(1)) * 1000);
+                    }
+                    synchronized (lines) {
+                        lines.add(line);
+                        if (lines.size() > 50) {
+                            lines.poll();
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // The process is gone
+            }
+        }
+
+        // Startup time as logged by Spring Boot, written shortly after the port opens
+        Double reportedStartupMs() throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (reportedStartupMs == null && process.isAlive() && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            return reportedStartupMs;
+        }
+
+        // SIGTERM, so the JVM exits normally and writes the CDS archive in a training run
+        void stop() throws InterruptedException {
+            process.destroy();
+            if (!process.waitFor(60, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            reader.join(1000);
+        }
+
+        String output() {
+            synchronized (lines) {
+                return String.join("\n", lines);
+            }
+        }
+    }
+}
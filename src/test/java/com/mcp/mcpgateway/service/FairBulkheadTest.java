@@ -0,0 +1,80 @@
+package com.mcp.mcpgateway.service;
+
+import org.junit.jupiter.api.Test;
+
+import com.mcp.mcpgateway.config.ExecutionConfig;
+import com.mcp.mcpgateway.model.ExecutionPriority;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FairBulkheadTest {
+
+    private final ExecutionConfig config = new ExecutionConfig();
+
+    @Test
+    void bulkTenantCannotStarveAnInteractiveOne() throws Exception {
+        FairBulkhead bulkhead = new FairBulkhead("s1", 2, 10_000, config);
+        List<String> granted = new CopyOnWriteArrayList<>();
+
+        // A bulk batch holds every permit and has more calls waiting for them
+        assertThat(bulkhead.acquire("batch", ExecutionPriority.BULK)).isTrue();
+        assertThat(bulkhead.acquire("batch", ExecutionPriority.BULK)).isTrue();
+        for (int i = 0; i < 5; i++) {
+            waitFor(bulkhead, "batch", ExecutionPriority.BULK, granted);
+        }
+        awaitWaiting(bulkhead, 5);
+
+        waitFor(bulkhead, "app", ExecutionPriority.INTERACTIVE, granted);
+        awaitWaiting(bulkhead, 6);
+
+        // The interactive call is served within the next two permits the batch gives back, not after its backlog
+        bulkhead.release();
+        bulkhead.release();
+        awaitWaiting(bulkhead, 4);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (granted.size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(granted).hasSize(2).contains("app");
+    }
+
+    @Test
+    void callsThatWaitTooLongAreRejected() {
+        FairBulkhead bulkhead = new FairBulkhead("s1", 1, 50, config);
+        assertThat(bulkhead.acquire("batch", ExecutionPriority.BULK)).isTrue();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> bulkhead.execute("app", ExecutionPriority.INTERACTIVE, () -> "result"))
+                .isInstanceOf(BulkheadRejectedException.class);
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(bulkhead.getState()).containsEntry("waiting", 0);
+
+        // The permit is free again for the next call once released
+        bulkhead.release();
+        assertThat(bulkhead.execute("app", ExecutionPriority.INTERACTIVE, () -> "result")).isEqualTo("result");
+        assertThat(bulkhead.getState()).containsEntry("available", 1);
+    }
+
+    private static void waitFor(FairBulkhead bulkhead, String tenant, ExecutionPriority priority, List<String> granted) {
+        Thread thread = new Thread(() -> {
+            if (bulkhead.acquire(tenant, priority)) {
+                granted.add(tenant);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void awaitWaiting(FairBulkhead bulkhead, int waiting) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Integer.valueOf(waiting).equals(bulkhead.getState().get("waiting")) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(bulkhead.getState()).containsEntry("waiting", waiting);
+    }
+}
@@ -0,0 +1,90 @@
+package com.mcp.mcpgateway.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.mcp.mcpgateway.config.ExecutionConfig;
+import com.mcp.mcpgateway.config.RemoteServicesConfig;
+import com.mcp.mcpgateway.config.RemoteServicesConfig.RemoteServiceConfig;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RemoteToolInvokerTest {
+
+    private static final Map<String, Object> IDEMPOTENT = Map.of("idempotent", true);
+
+    private final RemoteServicesConfig config = new RemoteServicesConfig();
+    private final RemoteServiceConfig service = new RemoteServiceConfig();
+    private RemoteToolInvoker invoker;
+
+    @AfterEach
+    void cleanup() {
+        invoker.cleanup();
+    }
+
+    @Test
+    void hedgeDelayStaysAtThePrimaryLatencyWhileHedging() {
+        service.setId("s1");
+        service.setUrls(List.of("http://replica-1", "http://replica-2"));
+        config.getHedging().setPercentile(0.8);
+        config.getHedging().setMinSamples(20);
+        config.getHedging().setInitialDelayMs(1000);
+        config.getHedging().setBudgetPercent(100);
+        invoker = new RemoteToolInvoker(config, new RemoteServiceGuard(new ExecutionConfig()),
+                new RemoteLoadBalancer(config, null));
+
+        // Primary attempts: 70% answer in 2ms, 20% in 30ms and 10% in 150ms; hedges always answer in 2ms
+        AtomicInteger primaries = new AtomicInteger();
+        Function<String, String> call = url -> {
+            if (Thread.currentThread().getName().startsWith("remote-hedge")) {
+                return respondAfter(2);
+            }
+            int n = primaries.getAndIncrement() % 10;
+            return respondAfter(n < 7 ? 2 : n < 9 ? 30 : 150);
+        };
+
+        for (int i = 0; i < 20; i++) {
+            invoker.invoke(service, "slow", IDEMPOTENT, "app", null, call);
+        }
+        double warmedUp = percentileMs();
+        assertThat(warmedUp).isGreaterThanOrEqualTo(30);
+
+        // Hedges now cut the slow tail off; the delay must not follow the shortened calls down
+        for (int i = 0; i < 100; i++) {
+            assertThat(invoker.invoke(service, "slow", IDEMPOTENT, "app", null, call)).isEqualTo("ok");
+        }
+        assertThat(hedges()).isPositive();
+        assertThat(percentileMs()).isGreaterThanOrEqualTo(30);
+    }
+
+    // Like the HTTP clients, an attempt stops when its scope is cancelled
+    private static String respondAfter(long millis) {
+        RemoteCallScope scope = RemoteCallScope.current();
+        if (scope != null) {
+            scope.interruptOnCancel();
+        }
+        try {
+            Thread.sleep(millis);
+            return "ok";
+        } catch (InterruptedException e) {
+            throw new IllegalStateException("Attempt aborted", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private double percentileMs() {
+        Map<String, Object> delays = (Map<String, Object>) invoker.getState().get("percentileLatencyMs");
+        return (Double) delays.get("s1.slow");
+    }
+
+    @SuppressWarnings("unchecked")
+    private long hedges() {
+        Map<String, Map<String, Object>> budgets = (Map<String, Map<String, Object>>) invoker.getState().get("budgets");
+        return (Long) budgets.get("s1").get("hedges");
+    }
+}